@@ -0,0 +1,142 @@
+package com.github.idegtiarenko.json;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+public class Aggregation {
+
+    public static final String ANY = "*";
+
+    private static final int COMPRESSION = 100;
+    private static final int COUNTERS = 256;
+
+    private long count = 0;
+    private long missing = 0;
+    private long nulls = 0;
+    private double sum = 0;
+    private final TDigest numbers = new TDigest(COMPRESSION);
+    private final SpaceSaving strings = new SpaceSaving(COUNTERS);
+
+    //path contains names of nested nodes or ANY to match all children of a container
+    public static Aggregation of(Node root, List<String> path, LongConsumer onProgress) {
+        var wildcard = path.indexOf(ANY);
+        if (wildcard < 0) {
+            var aggregation = new Aggregation();
+            aggregation.accept(root, path);
+            return aggregation;
+        }
+        var container = find(root, path.subList(0, wildcard));
+        if (container == null) {
+            return new Aggregation();
+        }
+        var children = container.children();
+        var rest = path.subList(wildcard + 1, path.size());
+        var processed = new AtomicInteger();
+        //elements matching the first wildcard are split between threads, each of them keeps own bounded sketches
+        return IntStream.range(0, children.size()).parallel().collect(
+                Aggregation::new,
+                (aggregation, i) -> {
+                    aggregation.accept(children.get(i), rest);
+                    onProgress.accept(processed.incrementAndGet());
+                },
+                Aggregation::merge
+        );
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long missing() {
+        return missing;
+    }
+
+    public long nulls() {
+        return nulls;
+    }
+
+    public long numbers() {
+        return numbers.count();
+    }
+
+    public double min() {
+        return numbers.min();
+    }
+
+    public double max() {
+        return numbers.max();
+    }
+
+    public double average() {
+        return sum / numbers.count();
+    }
+
+    public double quantile(double q) {
+        return numbers.quantile(q);
+    }
+
+    public List<Map.Entry<String, Long>> top(int k) {
+        return strings.top(k);
+    }
+
+    private void merge(Aggregation other) {
+        count += other.count;
+        missing += other.missing;
+        nulls += other.nulls;
+        sum += other.sum;
+        numbers.merge(other.numbers);
+        strings.merge(other.strings);
+    }
+
+    private void accept(Node node, List<String> path) {
+        if (path.isEmpty()) {
+            accept(node);
+        } else if (ANY.equals(path.get(0))) {
+            for (var child : node.children()) {
+                accept(child, path.subList(1, path.size()));
+            }
+        } else {
+            var child = findChild(node, path.get(0));
+            if (child != null) {
+                accept(child, path.subList(1, path.size()));
+            } else {
+                missing++;
+            }
+        }
+    }
+
+    private void accept(Node node) {
+        count++;
+        if (node.type() != Node.Type.VALUE) {
+            return;
+        }
+        var value = node.value();
+        if (value.equals("null")) {
+            nulls++;
+        } else if (value.startsWith("\"")) {
+            strings.add(value.substring(1, value.length() - 1));
+        } else if (value.equals("true") || value.equals("false")) {
+            strings.add(value);
+        } else {
+            var number = Double.parseDouble(value);
+            numbers.add(number);
+            sum += number;
+        }
+    }
+
+    private static Node find(Node root, List<String> path) {
+        var node = root;
+        for (int i = 0; i < path.size() && node != null; i++) {
+            node = findChild(node, path.get(i));
+        }
+        return node;
+    }
+
+    private static Node findChild(Node node, String name) {
+        var index = JsonPath.indexOf(node, name, false);
+        return index >= 0 ? node.child(index) : null;
+    }
+}
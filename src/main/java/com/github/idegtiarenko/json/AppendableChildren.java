@@ -0,0 +1,198 @@
+package com.github.idegtiarenko.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+//children of the root that are extended when following the file,
+//every appended list is a snapshot of a fixed size sharing segments with the previous ones,
+//so background tasks reading a previous snapshot are not affected by appending.
+//complete segments are tracked by the memory governor when they could be parsed again from the file,
+//segments are limited in bytes as well since evicted ones are parsed again once displayed
+public class AppendableChildren extends AbstractList<Node> implements RandomAccess {
+
+    private static final int SEGMENT_SIZE = 1024;
+    private static final int SEGMENT_BYTES = 256 << 10;
+
+    private final Storage storage;
+    private final int size;
+    private final int segments;
+    private final int recursiveChildrenCount;
+
+    private AppendableChildren(Storage storage) {
+        this.storage = storage;
+        this.size = storage.size;
+        this.segments = storage.count;
+        this.recursiveChildrenCount = storage.recursiveChildrenCount;
+    }
+
+    public static AppendableChildren of(List<Node> children) {
+        var builder = builder(null);
+        builder.addAll(children);
+        return builder.build();
+    }
+
+    //collects children while parsing so that complete segments could be evicted before parsing completes
+    static Builder builder(SegmentParser parser) {
+        return new Builder(new Storage(parser));
+    }
+
+    @Override
+    public Node get(int index) {
+        Objects.checkIndex(index, size);
+        return storage.get(index, segments);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    //segment containing the child with the given index
+    List<Node> getSegment(int index) {
+        Objects.checkIndex(index, size);
+        return storage.getSegment(index, segments);
+    }
+
+    int recursiveChildrenCount() {
+        return recursiveChildrenCount;
+    }
+
+    //slots below the size of any snapshot are never written again, so appending to an outdated snapshot copies it first
+    public AppendableChildren append(List<Node> appended) {
+        synchronized (storage) {
+            var target = storage.size == size ? storage : storage.copy(size, segments);
+            for (var node : appended) {
+                target.add(node);
+            }
+            return new AppendableChildren(target);
+        }
+    }
+
+    //returns true if this list contains all children of the given one followed by the appended ones
+    public boolean isExtensionOf(List<Node> children) {
+        return children instanceof AppendableChildren other && other.storage == storage && other.size <= size;
+    }
+
+    interface SegmentParser {
+
+        //ranges containing errors could not be parsed again
+        boolean canParse(long from, long to);
+
+        List<Node> parse(int firstIndex, long from, long to);
+    }
+
+    static class Builder extends AbstractList<Node> {
+
+        private final Storage storage;
+
+        private Builder(Storage storage) {
+            this.storage = storage;
+        }
+
+        @Override
+        public Node get(int index) {
+            Objects.checkIndex(index, storage.size);
+            return storage.get(index, storage.count);
+        }
+
+        @Override
+        public int size() {
+            return storage.size;
+        }
+
+        @Override
+        public boolean add(Node node) {
+            synchronized (storage) {
+                storage.add(node);
+            }
+            return true;
+        }
+
+        AppendableChildren build() {
+            synchronized (storage) {
+                return new AppendableChildren(storage);
+            }
+        }
+    }
+
+    private static class Storage {
+
+        private final SegmentParser parser;
+        //replaced when growing, segments themselves are shared with all snapshots
+        private volatile List<Node>[] segments = newSegments(4);
+        private volatile int[] starts = new int[4];
+        private int count = 0;
+        private int size = 0;
+        private int recursiveChildrenCount = 0;
+        private Node[] tail = null;
+        private int tailSize = 0;
+
+        private Storage(SegmentParser parser) {
+            this.parser = parser;
+        }
+
+        private Node get(int index, int count) {
+            var segment = findSegment(index, count);
+            return segments[segment].get(index - starts[segment]);
+        }
+
+        private List<Node> getSegment(int index, int count) {
+            return segments[findSegment(index, count)];
+        }
+
+        private int findSegment(int index, int count) {
+            var segment = Arrays.binarySearch(starts, 0, count, index);
+            return segment >= 0 ? segment : -segment - 2;
+        }
+
+        private void add(Node node) {
+            if (tail == null || tailSize == SEGMENT_SIZE || tail[tailSize - 1].rawTo() - tail[0].rawFrom() >= SEGMENT_BYTES) {
+                if (tail != null) {
+                    seal();
+                }
+                if (count == segments.length) {
+                    var grown = newSegments(count * 2);
+                    System.arraycopy(segments, 0, grown, 0, count);
+                    segments = grown;
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                tail = new Node[SEGMENT_SIZE];
+                tailSize = 0;
+                segments[count] = Arrays.asList(tail);
+                starts[count] = size;
+                count++;
+            }
+            tail[tailSize++] = node;
+            size++;
+            recursiveChildrenCount += node.recursiveChildrenCount();
+        }
+
+        private void seal() {
+            if (parser == null) {
+                return;
+            }
+            var firstIndex = starts[count - 1];
+            var from = tail[0].rawFrom();
+            var to = tail[tailSize - 1].rawTo();
+            if (parser.canParse(from, to)) {
+                segments[count - 1] = MemoryGovernor.track(() -> parser.parse(firstIndex, from, to), to - from, Arrays.asList(tail).subList(0, tailSize));
+            }
+        }
+
+        private Storage copy(int size, int count) {
+            var copy = new Storage(parser);
+            for (int i = 0; i < size; i++) {
+                copy.add(get(i, count));
+            }
+            return copy;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<Node>[] newSegments(int length) {
+            return new List[length];
+        }
+    }
+}
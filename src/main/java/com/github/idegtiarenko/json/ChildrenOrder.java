@@ -0,0 +1,98 @@
+package com.github.idegtiarenko.json;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.IntBinaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+public enum ChildrenOrder {
+
+    NAME(null),
+    CHILDREN_COUNT(Node::childrenCount),
+    RECURSIVE_CHILDREN_COUNT(Node::recursiveChildrenCount),
+    SIZE(Node::size);
+
+    private final ToLongFunction<Node> key;
+
+    ChildrenOrder(ToLongFunction<Node> key) {
+        this.key = key;
+    }
+
+    //returns indexes of children in ascending order
+    public int[] sort(List<Node> children) {
+        return key != null ? sortByKey(children, key) : sortByName(children);
+    }
+
+    public static int[] reverse(int[] indexes) {
+        var reversed = new int[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            reversed[i] = indexes[indexes.length - 1 - i];
+        }
+        return reversed;
+    }
+
+    //indexes are null when children are in natural order
+    public static int[] filter(List<Node> children, int[] indexes, Predicate<Node> predicate) {
+        var source = indexes != null ? Arrays.stream(indexes) : IntStream.range(0, children.size());
+        return source.filter(i -> predicate.test(children.get(i))).toArray();
+    }
+
+    private static int[] sortByKey(List<Node> children, ToLongFunction<Node> key) {
+        var keys = new long[children.size()];
+        var max = 0L;
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.applyAsLong(children.get(i));
+            max = Math.max(max, keys[i]);
+        }
+        if (max > Integer.MAX_VALUE) {
+            //sizes of nodes beyond 2 GB do not fit next to the index
+            var indexes = IntStream.range(0, keys.length).toArray();
+            mergeSort(indexes, new int[indexes.length], 0, indexes.length, (a, b) -> Long.compare(keys[a], keys[b]));
+            return indexes;
+        }
+        //keys are not negative, so packing key and index into a single long keeps both the order and stability
+        var packed = new long[keys.length];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = keys[i] << 32 | i;
+        }
+        Arrays.parallelSort(packed);
+        var indexes = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            indexes[i] = (int) packed[i];
+        }
+        return indexes;
+    }
+
+    private static int[] sortByName(List<Node> children) {
+        var names = new String[children.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = children.get(i).name();
+        }
+        var indexes = IntStream.range(0, names.length).toArray();
+        mergeSort(indexes, new int[indexes.length], 0, indexes.length, (a, b) -> names[a].compareTo(names[b]));
+        return indexes;
+    }
+
+    //stable sort of indexes by the given comparison of them
+    private static void mergeSort(int[] indexes, int[] buffer, int from, int to, IntBinaryOperator comparator) {
+        if (to - from < 2) {
+            return;
+        }
+        var middle = (from + to) >>> 1;
+        mergeSort(indexes, buffer, from, middle, comparator);
+        mergeSort(indexes, buffer, middle, to, comparator);
+        if (comparator.applyAsInt(indexes[middle - 1], indexes[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(indexes, from, buffer, from, to - from);
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || (left < middle && comparator.applyAsInt(buffer[left], buffer[right]) <= 0)) {
+                indexes[i] = buffer[left++];
+            } else {
+                indexes[i] = buffer[right++];
+            }
+        }
+    }
+}
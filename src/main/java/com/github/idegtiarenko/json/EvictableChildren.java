@@ -0,0 +1,102 @@
+package com.github.idegtiarenko.json;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+//children of a container that could be dropped under memory pressure and parsed again from the file once accessed
+public class EvictableChildren extends AbstractList<Node> {
+
+    private final Supplier<List<Node>> parser;
+    private final long estimatedSize;
+    private final int size;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger pins = new AtomicInteger();
+    private volatile List<Node> children;
+    private volatile long lastAccess;
+
+    EvictableChildren(Supplier<List<Node>> parser, long estimatedSize, List<Node> children) {
+        this.parser = parser;
+        this.estimatedSize = estimatedSize;
+        this.size = children.size();
+        this.children = children;
+        this.lastAccess = System.nanoTime();
+    }
+
+    @Override
+    public Node get(int index) {
+        return materialize().get(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    //pinned children are not evicted, for example while they are displayed
+    public void pin() {
+        pins.incrementAndGet();
+    }
+
+    public void unpin() {
+        pins.decrementAndGet();
+    }
+
+    public boolean isMaterialized() {
+        return children != null;
+    }
+
+    boolean isEvictable() {
+        return pins.get() == 0 && children != null;
+    }
+
+    //never waits for the lock, so that eviction could not deadlock with a concurrent materialization
+    boolean evict() {
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            if (isEvictable()) {
+                children = null;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //returns children parsing them again if they were evicted, which is expected to happen in background,
+    //children parsed again are not the same list as before eviction
+    public List<Node> load() {
+        return materialize();
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    private List<Node> materialize() {
+        lastAccess = System.nanoTime();
+        var current = children;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (children == null) {
+                children = parser.get();
+                MemoryGovernor.onMaterialized();
+            }
+            return children;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.idegtiarenko.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.core.util.Separators;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public class Export {
+
+    private static final byte[] SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    //copied content is held in memory twice, as bytes and as a string
+    static final int MAX_RAW_STRING_SIZE = 16 << 20;
+
+    public static String toRawString(File source, Node node) {
+        var size = node.rawTo() - node.rawFrom();
+        if (size > MAX_RAW_STRING_SIZE) {
+            throw new IllegalArgumentException("Node of " + size + " bytes is too large to be copied, export it to a file instead");
+        }
+        try (var channel = FileChannel.open(source.toPath(), READ)) {
+            var buffer = ByteBuffer.allocate((int) size);
+            var position = node.rawFrom();
+            while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) >= 0) {
+                //keep reading
+            }
+            return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void export(File source, List<Node> nodes, File target, Format format, LongConsumer onProgress) {
+        //truncating the source would destroy the nodes before they are copied
+        if (isSameFile(source, target)) {
+            throw new IllegalArgumentException("Could not export to the file that is being viewed: " + target);
+        }
+        try (var in = FileChannel.open(source.toPath(), READ);
+             var out = FileChannel.open(target.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)) {
+            var written = 0L;
+            for (int i = 0; i < nodes.size(); i++) {
+                if (i > 0) {
+                    out.write(ByteBuffer.wrap(SEPARATOR));
+                }
+                var node = nodes.get(i);
+                if (format == Format.RAW) {
+                    //copy bytes as is without decoding them
+                    transfer(in, node.rawFrom(), node.rawTo(), out);
+                } else {
+                    reformat(in, node.rawFrom(), node.rawTo(), out, format);
+                }
+                written += node.rawTo() - node.rawFrom();
+                onProgress.accept(written);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isSameFile(File source, File target) {
+        try {
+            return target.exists() && Files.isSameFile(source.toPath(), target.toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //selected nodes might overlap, so their total size is not limited by the size of the file
+    public static long getTotalSize(List<Node> nodes) {
+        return nodes.stream().mapToLong(node -> node.rawTo() - node.rawFrom()).sum();
+    }
+
+    private static void transfer(FileChannel in, long from, long to, FileChannel out) throws IOException {
+        var position = from;
+        while (position < to) {
+            var transferred = in.transferTo(position, to - position, out);
+            if (transferred <= 0) {
+                throw new IOException("Unexpected end of file at " + position);
+            }
+            position += transferred;
+        }
+    }
+
+    private static void reformat(FileChannel in, long from, long to, FileChannel out, Format format) throws IOException {
+        var factory = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        var output = new BufferedOutputStream(Channels.newOutputStream(out));
+        try (var parser = factory.createParser(new FileRangeInputStream(in, from, to));
+             var generator = factory.createGenerator(output)) {
+            //stream nodes contain several root values
+            generator.setRootValueSeparator(new SerializedString(System.lineSeparator()));
+            if (format == Format.PRETTY) {
+                generator.setPrettyPrinter(new DefaultPrettyPrinter(Separators.createDefaultInstance().withRootSeparator(System.lineSeparator())));
+            }
+            while (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+        output.flush();
+    }
+
+    public enum Format {
+        RAW, PRETTY, MINIFIED
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.idegtiarenko.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class FileRangeInputStream extends InputStream {
+
+    private final FileChannel channel;
+    private long position;
+    private final long to;
+
+    public FileRangeInputStream(FileChannel channel, long from, long to) {
+        this.channel = channel;
+        this.position = from;
+        this.to = to;
+    }
+
+    @Override
+    public int read() throws IOException {
+        var buffer = new byte[1];
+        return read(buffer, 0, 1) == 1 ? buffer[0] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        var remaining = to - position;
+        if (remaining <= 0) {
+            return -1;
+        }
+        var read = channel.read(ByteBuffer.wrap(bytes, offset, (int) Math.min(length, remaining)), position);
+        if (read > 0) {
+            position += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) {
+        var skipped = Math.max(0, Math.min(n, to - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, to - position));
+    }
+}
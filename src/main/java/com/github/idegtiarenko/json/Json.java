@@ -1,15 +1,26 @@
 package com.github.idegtiarenko.json;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.github.idegtiarenko.json.jfr.ParseEvent;
 import javafx.scene.control.TreeItem;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.SequenceInputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
-import java.util.function.IntConsumer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
 
 import static com.fasterxml.jackson.core.JsonToken.VALUE_FALSE;
 import static com.fasterxml.jackson.core.JsonToken.VALUE_NULL;
@@ -17,102 +28,625 @@ import static com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_FLOAT;
 import static com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_INT;
 import static com.fasterxml.jackson.core.JsonToken.VALUE_STRING;
 import static com.fasterxml.jackson.core.JsonToken.VALUE_TRUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
 
 public class Json {
 
+    private static final long CONTAINER_SCAN_LIMIT = 64 << 20;
+
     public static Node parse(String json) {
         try {
-            return parse(new JsonFactory().createParser(json), p -> {});
+            return parse(new JsonFactory().createParser(json.getBytes(UTF_8)), p -> {});
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
-    public static Node parse(File file, IntConsumer onProgress) {
-        try {
-            return parse(new JsonFactory().createParser(file), onProgress);
+    public static Node parse(File file, LongConsumer onProgress) {
+        return parse(file, onProgress, null);
+    }
+
+    //errors are collected instead of being thrown when the list is given,
+    //containers are closed where the error occurred and parsing continues from the next element of the innermost array or stream.
+    //an element of a root array or stream that is cut off by the end of the file is left out, so that it could be appended once complete
+    public static Node parse(File file, LongConsumer onProgress, List<ParseError> errors) {
+        var event = new ParseEvent();
+        event.begin();
+        try (var channel = errors != null ? FileChannel.open(file.toPath(), READ) : null) {
+            var reader = new Reader(new JsonFactory().createParser(file), 0, onProgress, file);
+            reader.channel = channel;
+            reader.errors = errors;
+            return reader.readRoot();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            event.file = file.getPath();
+            event.phase = "full";
+            event.size = file.length();
+            event.commit();
+        }
+    }
+
+    public static Node parse(JsonParser parser, LongConsumer onProgress) throws IOException {
+        return new Reader(parser, 0, onProgress, null).readRoot();
+    }
+
+    //parses children of the container located at the given range of the file
+    static List<Node> parseChildren(File file, long from, long to) {
+        var event = new ParseEvent();
+        event.begin();
+        try (var channel = FileChannel.open(file.toPath(), READ)) {
+            var reader = new Reader(new JsonFactory().createParser(new FileRangeInputStream(channel, from, to)), from, p -> {}, file);
+            reader.depth = 1;
+            var token = reader.parser.nextToken();
+            return token == JsonToken.START_OBJECT ? KeyedChildren.of(reader.readFields()) : reader.readItems(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            event.file = file.getPath();
+            event.phase = "subtree";
+            event.size = to - from;
+            event.commit();
+        }
+    }
+
+    //parses root children located at the given range of the file, such as an evicted segment of a root array or stream
+    static List<Node> parseSegment(File file, Node.Type type, int firstIndex, long from, long to) {
+        var event = new ParseEvent();
+        event.begin();
+        try (var channel = FileChannel.open(file.toPath(), READ)) {
+            if (type == Node.Type.STREAM) {
+                var reader = new Reader(new JsonFactory().createParser(new FileRangeInputStream(channel, from, to)), from, p -> {}, file);
+                reader.parser.nextToken();
+                return reader.readValues(firstIndex);
+            }
+            //array items are separated with commas, so the range is parsed as an array of its own
+            var input = new SequenceInputStream(new SequenceInputStream(
+                    new ByteArrayInputStream(new byte[]{'['}),
+                    new FileRangeInputStream(channel, from, to)
+            ), new ByteArrayInputStream(new byte[]{']'}));
+            var reader = new Reader(new JsonFactory().createParser(input), from - 1, p -> {}, file);
+            reader.depth = 1;
+            reader.parser.nextToken();
+            return reader.readItems(firstIndex);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            event.file = file.getPath();
+            event.phase = "segment";
+            event.size = to - from;
+            event.commit();
+        }
+    }
+
+    private record RootSegments(File file, Node.Type type, List<ParseError> errors) implements AppendableChildren.SegmentParser {
+
+        @Override
+        public boolean canParse(long from, long to) {
+            return file != null && (errors == null || errors.stream().noneMatch(error -> error.offset() >= from && error.offset() <= to));
+        }
+
+        @Override
+        public List<Node> parse(int firstIndex, long from, long to) {
+            return parseSegment(file, type, firstIndex, from, to);
+        }
+    }
+
+    //parses content appended to the file since the root was parsed,
+    //returns null when it could not be merged into the root and the file needs to be parsed again
+    public static Appended parseAppended(File file, Node root, LongConsumer onProgress) {
+        var event = new ParseEvent();
+        event.begin();
+        try (var channel = FileChannel.open(file.toPath(), READ)) {
+            event.size = channel.size() - root.to();
+            //empty or unparsable files have no position to continue from
+            if (root.to() < 0 || channel.size() < root.to()) {
+                return null;
+            }
+            return switch (root.type()) {
+                case STREAM -> appendValues(file, channel, root, onProgress);
+                case ARRAY -> readByte(channel, root.to() - 1) != ']' ? appendItems(file, channel, root, onProgress) : appendNothing(channel, root);
+                default -> appendNothing(channel, root);
+            };
         } catch (IOException e) {
             throw new UncheckedIOException(e);
+        } finally {
+            event.file = file.getPath();
+            event.phase = "appended";
+            event.commit();
+        }
+    }
+
+    private static Appended appendValues(File file, FileChannel channel, Node root, LongConsumer onProgress) throws IOException {
+        //only complete lines are parsed, the last one might still be written
+        var to = findLastLineEnd(channel, root.to(), channel.size());
+        if (to <= root.to()) {
+            return Appended.nothing(root);
+        }
+        var input = new FileRangeInputStream(channel, root.to(), to);
+        var reader = new Reader(new JsonFactory().createParser(input), root.to(), p -> onProgress.accept(p - root.to()), file);
+        reader.parser.nextToken();
+        var values = reader.readValues(root.childrenCount());
+        return values.isEmpty() ? Appended.nothing(root) : new Appended(reader.end, values);
+    }
+
+    private static Appended appendItems(File file, FileChannel channel, Node root, LongConsumer onProgress) throws IOException {
+        //closing bracket was overwritten by the writer, continue reading items as if it was never there
+        var from = skipWhitespacesAndComma(channel, root.to() - 1);
+        var input = new SequenceInputStream(
+                new ByteArrayInputStream(new byte[]{'['}),
+                new FileRangeInputStream(channel, from, channel.size())
+        );
+        var reader = new Reader(new JsonFactory().createParser(input), from - 1, p -> onProgress.accept(p - root.to()), file);
+        reader.depth = 1;
+        try {
+            reader.parser.nextToken();
+            var items = reader.readItems(root.childrenCount());
+            return new Appended(reader.getLocation() + 1, items);
+        } catch (JsonEOFException e) {
+            //the writer has not finished yet
+            return Appended.nothing(root);
         }
     }
 
-    public static Node parse(JsonParser parser, IntConsumer onProgress) throws IOException {
-        parser.nextToken();
-        return readValue(parser, "", onProgress);
+    private static Appended appendNothing(FileChannel channel, Node root) throws IOException {
+        return skipWhitespaces(channel, root.to()) == channel.size() ? Appended.nothing(root) : null;
     }
 
-    private static Node readValue(JsonParser parser, String name, IntConsumer onProgress) throws IOException {
-        onProgress.accept(getLocation(parser));
-        var token = parser.currentToken();
-        return switch (token) {
-            case START_OBJECT -> readObject(parser, name, onProgress);
-            case START_ARRAY -> readArray(parser, name, onProgress);
-            case VALUE_STRING -> readString(parser, name);
-            case VALUE_NUMBER_INT -> readTokenValue(parser, name, VALUE_NUMBER_INT);
-            case VALUE_NUMBER_FLOAT -> readTokenValue(parser, name, VALUE_NUMBER_FLOAT);
-            case VALUE_TRUE -> readTokenValue(parser, name, VALUE_TRUE);
-            case VALUE_FALSE -> readTokenValue(parser, name, VALUE_FALSE);
-            case VALUE_NULL -> readTokenValue(parser, name, VALUE_NULL);
-            default -> throw new UnsupportedOperationException("Unexpected token type: " + token.asString());
-        };
+    private static long findLastLineEnd(FileChannel channel, long from, long to) throws IOException {
+        var buffer = ByteBuffer.allocate(8192);
+        for (var end = to; end > from; end -= buffer.capacity()) {
+            var start = Math.max(from, end - buffer.capacity());
+            buffer.clear().limit((int) (end - start));
+            channel.read(buffer, start);
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+        }
+        return from;
     }
 
-    private static Node readObject(JsonParser parser, String name, IntConsumer onProgress) throws IOException {
-        assert parser.currentToken() == JsonToken.START_OBJECT;
-        var from = getLocation(parser);
-        var fields = new ArrayList<Node>();
-        while (true) {
-            var next = parser.nextToken();
-            if (next == JsonToken.END_OBJECT) {
+    //returns the position after the bracket closing the container starting at the given position or -1 if it is not found,
+    //brackets within strings are ignored and the search is limited so that a broken file is not scanned till its end
+    private static long findContainerEnd(FileChannel channel, long from, long to) throws IOException {
+        var buffer = ByteBuffer.allocate(8192);
+        var limit = Math.min(to, from + CONTAINER_SCAN_LIMIT);
+        var depth = 0;
+        var inString = false;
+        var escaped = false;
+        for (var start = from; start < limit; ) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), limit - start));
+            var read = channel.read(buffer, start);
+            if (read <= 0) {
                 break;
-            } else if (next == JsonToken.FIELD_NAME) {
-                //skip
-            } else {
-                fields.add(readValue(parser, parser.getCurrentName(), onProgress));
             }
+            for (int i = 0; i < read; i++) {
+                var b = buffer.get(i);
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (b == '\\') {
+                        escaped = true;
+                    } else if (b == '"') {
+                        inString = false;
+                    }
+                } else if (b == '"') {
+                    inString = true;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return start + i + 1;
+                }
+            }
+            start += read;
         }
-        var to = getLocation(parser) + 1;
-        return Node.object(name, from, to, fields);
+        return -1;
     }
 
-    private static Node readArray(JsonParser parser, String name, IntConsumer onProgress) throws IOException {
-        assert parser.currentToken() == JsonToken.START_ARRAY;
-        var from = getLocation(parser);
-        var items = new ArrayList<Node>();
-        var index = 0;
-        while (true) {
-            var next = parser.nextToken();
-            if (next == JsonToken.END_ARRAY) {
+    private static long findNextLineStart(FileChannel channel, long from, long to) throws IOException {
+        var buffer = ByteBuffer.allocate(8192);
+        for (var start = from; start < to; ) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), to - start));
+            var read = channel.read(buffer, start);
+            if (read <= 0) {
                 break;
-            } else {
-                items.add(readValue(parser, Integer.toString(index), onProgress));
-                index++;
             }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            start += read;
+        }
+        return to;
+    }
+
+    private static long skipWhitespacesAndComma(FileChannel channel, long from) throws IOException {
+        var position = skipWhitespaces(channel, from);
+        return readByte(channel, position) == ',' ? position + 1 : position;
+    }
+
+    private static long skipWhitespaces(FileChannel channel, long from) throws IOException {
+        var position = from;
+        while (position < channel.size() && Character.isWhitespace(readByte(channel, position))) {
+            position++;
         }
-        var to = getLocation(parser) + 1;
-        return Node.array(name, from, to, items);
+        return position;
     }
 
-    private static Node readString(JsonParser parser, String name) throws IOException {
-        assert parser.currentToken() == VALUE_STRING;
-        var from = getLocation(parser) + 1;
-        var to = from + parser.getTextLength();
-        return Node.value(name, from, to, "\"" + parser.getText() + "\"");
+    private static int readByte(FileChannel channel, long position) throws IOException {
+        var buffer = ByteBuffer.allocate(1);
+        return channel.read(buffer, position) == 1 ? buffer.get(0) : -1;
     }
 
-    private static Node readTokenValue(JsonParser parser, String name, JsonToken token) throws IOException {
-        assert parser.currentToken() == token;
-        var from = getLocation(parser);
-        var to = from + parser.getTextLength();
-        return Node.value(name, from, to, parser.getText());
+    public record Appended(long to, List<Node> values) {
+
+        private static Appended nothing(Node root) {
+            return new Appended(root.to(), List.of());
+        }
+    }
+
+    private static class Reader {
+
+        private JsonParser parser;
+        private long base;
+        private final LongConsumer onProgress;
+        //children of nested containers are tracked by the memory governor when they could be parsed again from the file
+        private final File file;
+        private int depth = 0;
+        private boolean root = false;
+        private long end = -1;
+        //errors are thrown unless collected, recovery requires the channel to continue parsing from the next line
+        private List<ParseError> errors = null;
+        private FileChannel channel = null;
+        private final List<Node.Type> open = new ArrayList<>();
+        private final List<Long> openedAt = new ArrayList<>();
+        //ends of open containers found while resyncing, -1 when the closing bracket is not found
+        private final Map<Long, Long> containerEnds = new HashMap<>();
+        private boolean failed = false;
+        private long failedAt = -1;
+        private boolean endOfInput = false;
+        //set when the file ends within an element of the root array or stream, such as one that is still being written,
+        //the element is left out so that the root ends with the previous one and could be appended once the element is complete
+        private boolean truncated = false;
+        private long truncatedArrayEnd = -1;
+
+        private Reader(JsonParser parser, long base, LongConsumer onProgress, File file) {
+            this.parser = parser;
+            this.base = base;
+            this.onProgress = onProgress;
+            this.file = file;
+        }
+
+        private Node readRoot() throws IOException {
+            root = true;
+            if (nextToken() == null && failed) {
+                resync(-1, 0);
+            }
+            var from = Math.max(0, getLocation());
+            var values = build(readValues(0));
+            if (values.size() == 1 && !truncated) {
+                return values.get(0).withName("");
+            }
+            //empty file is an empty stream that could be followed from its start
+            return Node.stream("", from, Math.max(from, end), values);
+        }
+
+        //reads root values starting from the current token, keeping the end of the last one
+        private List<Node> readValues(int firstIndex) throws IOException {
+            var values = newChildren(Node.Type.STREAM);
+            //parsing continues after the last complete value or the start of the broken one
+            var resyncFrom = Math.max(0, getLocation());
+            while (!failed && parser.currentToken() != null) {
+                var start = getLocation();
+                var container = parser.currentToken().isStructStart();
+                var value = readValue(Integer.toString(firstIndex + values.size()));
+                //the first value is kept as it might be the only one, see readItems for the root array
+                if (isTruncated() && !values.isEmpty()) {
+                    truncated = true;
+                    break;
+                }
+                add(values, value);
+                var broken = failed && container ? start : -1;
+                if (!failed) {
+                    end = getEndLocation();
+                    resyncFrom = end;
+                    nextToken();
+                } else {
+                    resyncFrom = start + 1;
+                }
+                if (failed) {
+                    end = Math.max(end, failedAt);
+                    resync(broken, resyncFrom);
+                }
+            }
+            return values;
+        }
+
+        private Node readValue(String name) throws IOException {
+            onProgress.accept(getLocation());
+            var token = parser.currentToken();
+            try {
+                return switch (token) {
+                    case START_OBJECT -> readObject(name);
+                    case START_ARRAY -> readArray(name);
+                    case VALUE_STRING -> readString(name);
+                    case VALUE_NUMBER_INT -> readTokenValue(name, VALUE_NUMBER_INT);
+                    case VALUE_NUMBER_FLOAT -> readTokenValue(name, VALUE_NUMBER_FLOAT);
+                    case VALUE_TRUE -> readTokenValue(name, VALUE_TRUE);
+                    case VALUE_FALSE -> readTokenValue(name, VALUE_FALSE);
+                    case VALUE_NULL -> readTokenValue(name, VALUE_NULL);
+                    default -> throw new UnsupportedOperationException("Unexpected token type: " + token.asString());
+                };
+            } catch (JsonProcessingException e) {
+                //such as an unterminated string
+                fail(e);
+                return null;
+            }
+        }
+
+        private Node readObject(String name) throws IOException {
+            var from = getLocation();
+            var errorsCount = getErrorsCount();
+            depth++;
+            open.add(Node.Type.OBJECT);
+            openedAt.add(from);
+            var fields = readFields();
+            openedAt.remove(openedAt.size() - 1);
+            open.remove(open.size() - 1);
+            depth--;
+            var to = failed ? Math.max(from, failedAt) : getLocation() + 1;
+            return track(Node.object(name, from, to, KeyedChildren.of(fields)), errorsCount);
+        }
+
+        private List<Node> readFields() throws IOException {
+            assert parser.currentToken() == JsonToken.START_OBJECT;
+            var fields = new ArrayList<Node>();
+            while (true) {
+                var next = nextToken();
+                if (failed || next == JsonToken.END_OBJECT) {
+                    break;
+                } else if (next == JsonToken.FIELD_NAME) {
+                    //skip
+                } else {
+                    add(fields, readValue(parser.getCurrentName()));
+                    if (failed) {
+                        break;
+                    }
+                }
+            }
+            return fields;
+        }
+
+        private Node readArray(String name) throws IOException {
+            var from = getLocation();
+            var errorsCount = getErrorsCount();
+            var items = newChildren(Node.Type.ARRAY);
+            depth++;
+            open.add(Node.Type.ARRAY);
+            openedAt.add(from);
+            readItems(items, 0);
+            openedAt.remove(openedAt.size() - 1);
+            open.remove(open.size() - 1);
+            depth--;
+            //the root array is appended after its last complete item as if it was closed right after it, see appendItems
+            var to = depth == 0 && truncatedArrayEnd >= 0 ? truncatedArrayEnd + 1 : failed ? Math.max(from, failedAt) : getLocation() + 1;
+            return track(Node.array(name, from, to, build(items)), errorsCount);
+        }
+
+        //children of the root are built in segments that could be evicted, see AppendableChildren
+        private List<Node> newChildren(Node.Type type) {
+            return root && depth == 0 ? AppendableChildren.builder(new RootSegments(file, type, errors)) : new ArrayList<>();
+        }
+
+        private static List<Node> build(List<Node> children) {
+            return children instanceof AppendableChildren.Builder builder ? builder.build() : children;
+        }
+
+        private Node track(Node node, int errorsCount) {
+            //root children are evicted in segments as they are extended when following the file,
+            //containers with errors are never evicted as they could not be parsed again
+            return file != null && depth > 0 && errorsCount == getErrorsCount() ? MemoryGovernor.track(file, node) : node;
+        }
+
+        private List<Node> readItems(int firstIndex) throws IOException {
+            return readItems(new ArrayList<>(), firstIndex);
+        }
+
+        private List<Node> readItems(List<Node> items, int firstIndex) throws IOException {
+            assert parser.currentToken() == JsonToken.START_ARRAY;
+            //parsing continues after the last complete item or the start of the broken one
+            var resyncFrom = getLocation() + 1;
+            var next = nextToken();
+            while (!failed && next != JsonToken.END_ARRAY) {
+                var start = getLocation();
+                var container = next.isStructStart();
+                var item = readValue(Integer.toString(firstIndex + items.size()));
+                if (isTruncated() && depth == 1) {
+                    break;
+                }
+                add(items, item);
+                var broken = failed && container ? start : -1;
+                if (!failed) {
+                    resyncFrom = getEndLocation();
+                    next = nextToken();
+                } else {
+                    resyncFrom = start + 1;
+                }
+                if (failed && resync(broken, resyncFrom)) {
+                    next = parser.currentToken();
+                }
+            }
+            if (isTruncated() && depth == 1) {
+                truncatedArrayEnd = resyncFrom;
+            }
+            return items;
+        }
+
+        private static void add(List<Node> nodes, Node node) {
+            if (node != null) {
+                nodes.add(node);
+            }
+        }
+
+        private JsonToken nextToken() throws IOException {
+            try {
+                return parser.nextToken();
+            } catch (JsonProcessingException e) {
+                fail(e);
+                return null;
+            }
+        }
+
+        private void fail(JsonProcessingException e) throws JsonProcessingException {
+            if (errors == null) {
+                throw e;
+            }
+            var location = e.getLocation() != null ? getOffset(e.getLocation()) : -1;
+            failed = true;
+            endOfInput = e instanceof JsonEOFException;
+            failedAt = location >= 0 ? base + location : getEndLocation();
+            errors.add(new ParseError(failedAt, e.getOriginalMessage()));
+        }
+
+        //only the end of a root array or stream is appended once complete, files with other errors are parsed again
+        private boolean isTruncated() {
+            return root && failed && endOfInput && errors.size() == 1;
+        }
+
+        private int getErrorsCount() {
+            return errors != null ? errors.size() : 0;
+        }
+
+        //continues parsing the innermost array or stream from the next sibling of the broken container when its brackets are balanced,
+        //otherwise from the first line that starts with a complete element, starting with the line of the error itself
+        //but not before the given minimum, such as the end of the last complete element.
+        //elements are only searched within the innermost array, otherwise it fails so that the enclosing array is resynced instead.
+        //the parser is restarted with a prefix reopening all enclosing containers in order to keep their offsets and nesting
+        private boolean resync(long brokenContainer, long minimum) throws IOException {
+            if (channel == null || (!open.isEmpty() && open.get(open.size() - 1) != Node.Type.ARRAY)) {
+                return false;
+            }
+            var prefix = new StringBuilder();
+            for (var type : open) {
+                prefix.append(type == Node.Type.OBJECT ? "{\"\":" : "[");
+            }
+            var bytes = prefix.toString().getBytes(UTF_8);
+            var size = channel.size();
+            var limit = getArrayEnd(size);
+            var from = minimum;
+            if (brokenContainer >= 0) {
+                //lines within the broken container could start its nested elements rather than siblings
+                var containerEnd = findContainerEnd(channel, brokenContainer, limit);
+                if (containerEnd >= 0) {
+                    var sibling = skipWhitespacesAndComma(channel, containerEnd);
+                    if (sibling < limit && isElementStart(createParser(bytes, sibling, size))) {
+                        return restart(bytes, sibling, size);
+                    }
+                    from = Math.max(from, containerEnd);
+                }
+            }
+            var first = findLastLineEnd(channel, from, Math.max(from, failedAt - 1));
+            for (var line = first; line < limit; line = findNextLineStart(channel, line, limit)) {
+                if (isElementStart(createParser(bytes, line, size))) {
+                    return restart(bytes, line, size);
+                }
+            }
+            return false;
+        }
+
+        //lines after the end of the innermost array belong to the enclosing containers,
+        //when its closing bracket is not found the array is limited by the enclosing ones or the end of the file
+        private long getArrayEnd(long size) throws IOException {
+            for (int i = openedAt.size() - 1; i >= 0; i--) {
+                var start = openedAt.get(i);
+                var end = containerEnds.get(start);
+                if (end == null) {
+                    end = findContainerEnd(channel, start, size);
+                    containerEnds.put(start, end);
+                }
+                if (end >= 0) {
+                    return end;
+                }
+            }
+            return size;
+        }
+
+        private boolean restart(byte[] prefix, long from, long to) throws IOException {
+            parser.close();
+            parser = createParser(prefix, from, to);
+            base = from - prefix.length;
+            parser.nextToken();
+            failed = false;
+            return true;
+        }
+
+        private JsonParser createParser(byte[] prefix, long from, long to) throws IOException {
+            var parser = new JsonFactory().createParser(new SequenceInputStream(
+                    new ByteArrayInputStream(prefix),
+                    new FileRangeInputStream(channel, from, to)
+            ));
+            //prefix tokens are consumed so that the next token is the first one of the line
+            for (var type : open) {
+                parser.nextToken();
+                if (type == Node.Type.OBJECT) {
+                    parser.nextToken();
+                }
+            }
+            return parser;
+        }
+
+        private boolean isElementStart(JsonParser probe) throws IOException {
+            try (probe) {
+                var token = probe.nextToken();
+                if (token == null || token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT) {
+                    return false;
+                } else if (token == JsonToken.END_ARRAY) {
+                    return !open.isEmpty();
+                }
+                probe.skipChildren();
+                //rejects lines starting with a field or a partial value that are followed by something that is not a separator
+                probe.nextToken();
+                return true;
+            } catch (JsonProcessingException e) {
+                return false;
+            }
+        }
+
+        private Node readString(String name) throws IOException {
+            assert parser.currentToken() == VALUE_STRING;
+            var from = getLocation() + 1;
+            var text = parser.getText();
+            //text length differs from the raw one when it contains escapes or multibyte characters
+            var to = getEndLocation() - 1;
+            return Node.value(name, from, to, "\"" + text + "\"");
+        }
+
+        private Node readTokenValue(String name, JsonToken token) throws IOException {
+            assert parser.currentToken() == token;
+            var from = getLocation();
+            var to = from + parser.getTextLength();
+            return Node.value(name, from, to, parser.getText());
+        }
+
+        private long getLocation() {
+            return base + getOffset(parser.getTokenLocation());
+        }
+
+        private long getEndLocation() {
+            return base + getOffset(parser.getCurrentLocation());
+        }
     }
 
-    private static int getLocation(JsonParser parser) {
-        var location = parser.getTokenLocation();
-        if (location.getCharOffset() >= 0) {
-            return (int) location.getCharOffset();
-        } else if (location.getByteOffset() >= 0) {
-            return (int) location.getByteOffset();
+    //byte offsets are preferred as they allow seeking in the file, see PositionMap for converting them to char ones
+    private static long getOffset(JsonLocation location) {
+        if (location.getByteOffset() >= 0) {
+            return location.getByteOffset();
+        } else if (location.getCharOffset() >= 0) {
+            return location.getCharOffset();
         } else {
             return -1;
         }
@@ -154,6 +688,15 @@ public class Json {
                     }
                     builder.append(ident, "]");
                 }
+                case STREAM -> {
+                    var count = node.childrenCount();
+                    for (int i = 0; i < count; i++) {
+                        appendJson(builder, ident, node.child(i));
+                        if (i + 1 < count) {
+                            builder.append(System.lineSeparator());
+                        }
+                    }
+                }
                 default -> throw new IllegalStateException("Unexpected value: " + node);
             }
         }
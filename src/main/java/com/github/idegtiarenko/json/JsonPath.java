@@ -0,0 +1,112 @@
+package com.github.idegtiarenko.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class JsonPath {
+
+    private static final String SEPARATOR = " > ";
+
+    //accepts either names separated with " > " as displayed for the selected node or a jsonpath with child and index selectors,
+    //returns names of nested nodes starting from the children of the root
+    public static List<String> parse(String path) {
+        var trimmed = path.strip();
+        if (trimmed.startsWith("$")) {
+            return parseJsonPath(trimmed);
+        }
+        var names = new ArrayList<>(Arrays.asList(path.split(SEPARATOR, -1)));
+        //displayed path starts with the unnamed root
+        if (names.get(0).isBlank()) {
+            names.remove(0);
+        }
+        return names;
+    }
+
+    private static List<String> parseJsonPath(String path) {
+        var names = new ArrayList<String>();
+        var i = 1;
+        while (i < path.length()) {
+            var c = path.charAt(i);
+            if (c == '.' && i + 1 < path.length() && path.charAt(i + 1) != '.') {
+                var end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                names.add(checkName(path, path.substring(i + 1, end), i + 1));
+                i = end;
+            } else if (c == '[' && i + 1 < path.length() && (path.charAt(i + 1) == '\'' || path.charAt(i + 1) == '"')) {
+                var quote = path.charAt(i + 1);
+                var name = new StringBuilder();
+                var end = i + 2;
+                for (; end < path.length() && path.charAt(end) != quote; end++) {
+                    if (path.charAt(end) == '\\' && end + 1 < path.length()) {
+                        end++;
+                    }
+                    name.append(path.charAt(end));
+                }
+                if (end + 1 >= path.length() || path.charAt(end + 1) != ']') {
+                    throw new IllegalArgumentException("Unterminated name at " + i + " in " + path);
+                }
+                names.add(name.toString());
+                i = end + 2;
+            } else if (c == '[') {
+                var end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated index at " + i + " in " + path);
+                }
+                var index = path.substring(i + 1, end).strip();
+                if (!index.matches("\\d+")) {
+                    throw new IllegalArgumentException("Unsupported selector [" + index + "] at " + i + " in " + path);
+                }
+                names.add(index);
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected '" + c + "' at " + i + " in " + path);
+            }
+        }
+        return names;
+    }
+
+    private static String checkName(String path, String name, int position) {
+        if (name.isEmpty() || name.equals(Aggregation.ANY)) {
+            throw new IllegalArgumentException("Unsupported selector at " + position + " in " + path);
+        }
+        return name;
+    }
+
+    //returns index of the child with the given name or -1 if there is none,
+    //fields of wide objects are looked up with their key index built on the first lookup
+    public static int indexOf(Node node, String name) {
+        return indexOf(node, name, true);
+    }
+
+    //single lookups in many objects, such as when aggregating elements of an array, scan fields instead of indexing all of them
+    static int indexOf(Node node, String name, boolean indexed) {
+        return switch (node.type()) {
+            case ARRAY, STREAM -> {
+                try {
+                    var index = Integer.parseInt(name);
+                    yield index >= 0 && index < node.childrenCount() ? index : -1;
+                } catch (NumberFormatException e) {
+                    yield -1;
+                }
+            }
+            case OBJECT -> indexed && getFields(node) instanceof KeyedChildren keyed ? keyed.indexOf(name) : scan(node.children(), name);
+            case VALUE -> -1;
+        };
+    }
+
+    private static List<Node> getFields(Node node) {
+        return node.children() instanceof EvictableChildren evictable ? evictable.load() : node.children();
+    }
+
+    private static int scan(List<Node> children, String name) {
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i).name().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.idegtiarenko.json;
+
+import java.util.List;
+
+//open addressing hash table of children indexes, allows looking up fields of wide objects without scanning them
+public class KeyIndex {
+
+    public static final int MIN_KEYS = 1024;
+
+    private final List<Node> children;
+    //index of a child + 1, 0 for empty slots
+    private final int[] slots;
+
+    private KeyIndex(List<Node> children, int[] slots) {
+        this.children = children;
+        this.slots = slots;
+    }
+
+    public static KeyIndex of(List<Node> children) {
+        var size = children.size();
+        var index = new KeyIndex(children, new int[Integer.highestOneBit(Math.max(1, size * 2 - 1)) << 1]);
+        for (int i = 0; i < size; i++) {
+            index.add(i);
+        }
+        return index;
+    }
+
+    public int size() {
+        return children.size();
+    }
+
+    //returns index of the first child with the given name or -1 if there is none
+    public int indexOf(String name) {
+        var mask = slots.length - 1;
+        for (int slot = hash(name) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            var index = slots[slot] - 1;
+            if (children.get(index).name().equals(name)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private void add(int index) {
+        var name = children.get(index).name();
+        var mask = slots.length - 1;
+        var slot = hash(name) & mask;
+        for (; slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (children.get(slots[slot] - 1).name().equals(name)) {
+                //duplicated keys resolve to the first one as with a linear scan
+                return;
+            }
+        }
+        slots[slot] = index + 1;
+    }
+
+    private static int hash(String name) {
+        var hash = name.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.idegtiarenko.json;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+//fields of a wide object keeping their key index once built,
+//so that it is shared by everything looking up the same fields and dropped together with them when evicted
+class KeyedChildren extends AbstractList<Node> implements RandomAccess {
+
+    private final List<Node> fields;
+    private volatile KeyIndex keys;
+
+    private KeyedChildren(List<Node> fields) {
+        this.fields = fields;
+    }
+
+    static List<Node> of(List<Node> fields) {
+        return fields.size() >= KeyIndex.MIN_KEYS ? new KeyedChildren(fields) : fields;
+    }
+
+    @Override
+    public Node get(int index) {
+        return fields.get(index);
+    }
+
+    @Override
+    public int size() {
+        return fields.size();
+    }
+
+    int indexOf(String name) {
+        var current = keys;
+        if (current == null) {
+            //concurrent lookups might build the same index twice, either one is kept
+            current = KeyIndex.of(fields);
+            keys = current;
+        }
+        return current.indexOf(name);
+    }
+}
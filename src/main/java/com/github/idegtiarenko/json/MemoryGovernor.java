@@ -0,0 +1,148 @@
+package com.github.idegtiarenko.json;
+
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+//evicts children of the least recently accessed containers once heap usage after garbage collection exceeds the budget
+public class MemoryGovernor {
+
+    private static final int MIN_EVICTABLE_SIZE = 64 << 10;
+    private static final long CHECK_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null)
+            .toList();
+    private static final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private static final List<WeakReference<EvictableChildren>> tracked = new ArrayList<>();
+    private static final AtomicLong evictions = new AtomicLong();
+    private static final AtomicLong evictedSize = new AtomicLong();
+    private static final AtomicLong materializations = new AtomicLong();
+    private static volatile long budget = Runtime.getRuntime().maxMemory() / 10 * 8;
+    private static long lastCheck = 0;
+    private static long lastEvictionCollections = -1;
+
+    public static void setBudget(long budget) {
+        MemoryGovernor.budget = budget;
+    }
+
+    public static long getBudget() {
+        return budget;
+    }
+
+    public static long getEvictions() {
+        return evictions.get();
+    }
+
+    public static long getEvictedSize() {
+        return evictedSize.get();
+    }
+
+    public static long getMaterializations() {
+        return materializations.get();
+    }
+
+    //returns true if reading children of the node or of its descendants might require parsing them again
+    public static boolean mayContainEvicted(Node node) {
+        return node.size() >= MIN_EVICTABLE_SIZE || node.children() instanceof AppendableChildren;
+    }
+
+    //replaces children of big containers with evictable ones
+    static Node track(File file, Node node) {
+        if (node.size() < MIN_EVICTABLE_SIZE) {
+            return node;
+        }
+        var evictable = track(() -> Json.parseChildren(file, node.from(), node.to()), node.size(), node.children());
+        return new Node(node.type(), node.name(), node.from(), node.to(), node.value(), evictable, node.recursiveChildrenCount());
+    }
+
+    //parser is expected to return the same children once they are evicted, size of their json is used to estimate freed memory
+    static EvictableChildren track(Supplier<List<Node>> parser, long size, List<Node> children) {
+        var evictable = new EvictableChildren(parser, size, children);
+        synchronized (tracked) {
+            tracked.add(new WeakReference<>(evictable));
+        }
+        check();
+        return evictable;
+    }
+
+    static void onMaterialized() {
+        materializations.incrementAndGet();
+        check();
+    }
+
+    public static void check() {
+        var now = System.nanoTime();
+        var candidates = new ArrayList<EvictableChildren>();
+        long used;
+        synchronized (tracked) {
+            if (now - lastCheck < CHECK_INTERVAL_NS) {
+                return;
+            }
+            lastCheck = now;
+            //children of closed files are released regardless of the memory usage
+            tracked.removeIf(reference -> reference.get() == null);
+            //usage only changes once garbage is collected, so evicting again before that would evict too much
+            var collections = getCollections();
+            used = getUsedAfterCollection();
+            if (used <= budget || collections == lastEvictionCollections) {
+                return;
+            }
+            lastEvictionCollections = collections;
+            for (var reference : tracked) {
+                var children = reference.get();
+                if (children != null && children.isEvictable()) {
+                    candidates.add(children);
+                }
+            }
+        }
+        //evict a bit more than necessary so that eviction does not happen on every check
+        evict(candidates, used - budget / 10 * 8);
+    }
+
+    //used heap includes garbage until it is collected, so only the usage measured right after collections is compared to the budget
+    private static long getUsedAfterCollection() {
+        if (pools.isEmpty()) {
+            var runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+        var used = 0L;
+        for (var pool : pools) {
+            var usage = pool.getCollectionUsage();
+            used += usage != null ? usage.getUsed() : 0;
+        }
+        return used;
+    }
+
+    private static long getCollections() {
+        var collections = 0L;
+        for (var collector : collectors) {
+            collections += Math.max(0, collector.getCollectionCount());
+        }
+        return collections;
+    }
+
+    private static void evict(List<EvictableChildren> candidates, long target) {
+        candidates.sort(Comparator.comparingLong(EvictableChildren::getLastAccess));
+        //parsed nodes occupy more heap than their json, so file size is a conservative estimate of the freed memory
+        var evicted = 0L;
+        for (int i = 0; i < candidates.size() && evicted < target; i++) {
+            var children = candidates.get(i);
+            if (children.evict()) {
+                evicted += children.getEstimatedSize();
+                evictions.incrementAndGet();
+                evictedSize.addAndGet(children.getEstimatedSize());
+            }
+        }
+    }
+}
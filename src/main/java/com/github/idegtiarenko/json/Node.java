@@ -5,17 +5,30 @@ import java.util.List;
 public record Node(
         Type type,
         String name,
-        int from,
-        int to,
+        long from,
+        long to,
         String value,
         List<Node> children,
         int recursiveChildrenCount
 ) {
 
-    public int size() {
+    public long size() {
         return to - from;
     }
 
+    //string nodes point to the content without quotes
+    public long rawFrom() {
+        return isString() ? from - 1 : from;
+    }
+
+    public long rawTo() {
+        return isString() ? to + 1 : to;
+    }
+
+    private boolean isString() {
+        return type == Type.VALUE && value.startsWith("\"");
+    }
+
     public int childrenCount() {
         return children.size();
     }
@@ -24,23 +37,43 @@ public record Node(
         return children.get(i);
     }
 
-    public static Node value(String name, int from, int to, String value) {
+    public static Node value(String name, long from, long to, String value) {
         return new Node(Type.VALUE, name, from, to, value, List.of(), 0);
     }
 
-    public static Node array(String name, int from, int to, List<Node> children) {
+    public static Node array(String name, long from, long to, List<Node> children) {
         return new Node(Type.ARRAY, name, from, to, null, children, calculateRecursiveChildrenCount(children));
     }
 
-    public static Node object(String name, int from, int to, List<Node> children) {
+    public static Node object(String name, long from, long to, List<Node> children) {
         return new Node(Type.OBJECT, name, from, to, null, children, calculateRecursiveChildrenCount(children));
     }
 
+    public static Node stream(String name, long from, long to, List<Node> children) {
+        return new Node(Type.STREAM, name, from, to, null, children, calculateRecursiveChildrenCount(children));
+    }
+
+    public Node withName(String name) {
+        return new Node(type, name, from, to, value, children, recursiveChildrenCount);
+    }
+
+    public Node append(long to, List<Node> appended) {
+        //appending does not depend on the amount of already parsed children and keeps this node unchanged
+        var extended = (children instanceof AppendableChildren appendable ? appendable : AppendableChildren.of(children)).append(appended);
+        return new Node(type, name, from, to, value, extended, recursiveChildrenCount + calculateRecursiveChildrenCount(appended));
+    }
+
     private static int calculateRecursiveChildrenCount(List<Node> children) {
+        if (children instanceof AppendableChildren appendable) {
+            //avoids parsing evicted segments again
+            return appendable.recursiveChildrenCount();
+        }
         return children.stream().mapToInt(Node::recursiveChildrenCount).sum();
     }
 
     public enum Type {
-        VALUE, ARRAY, OBJECT
+        VALUE, ARRAY, OBJECT,
+        //sequence of root values, such as ndjson
+        STREAM
     }
 }
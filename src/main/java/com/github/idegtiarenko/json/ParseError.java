@@ -0,0 +1,14 @@
+package com.github.idegtiarenko.json;
+
+//offset is the position in bytes of the file where the error was encountered,
+//char offset is the position in the decoded content as shown by editors or -1 when it is not known yet
+public record ParseError(long offset, long charOffset, String message) {
+
+    public ParseError(long offset, String message) {
+        this(offset, -1, message);
+    }
+
+    public ParseError withCharOffset(long charOffset) {
+        return new ParseError(offset, charOffset, message);
+    }
+}
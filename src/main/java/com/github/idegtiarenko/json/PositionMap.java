@@ -0,0 +1,143 @@
+package com.github.idegtiarenko.json;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+//converts between byte offsets of an utf-8 file and char offsets of its content,
+//keeps a checkpoint every interval of bytes and decodes the rest starting from the closest one
+public class PositionMap {
+
+    private static final int DEFAULT_INTERVAL = 64 * 1024;
+
+    private final File file;
+    private final long[] bytes;
+    private final long[] chars;
+    private final int count;
+
+    private PositionMap(File file, long[] bytes, long[] chars, int count) {
+        this.file = file;
+        this.bytes = bytes;
+        this.chars = chars;
+        this.count = count;
+    }
+
+    public static PositionMap of(File file) {
+        return of(file, DEFAULT_INTERVAL);
+    }
+
+    //checkpoints are only kept before the given offset, later offsets are decoded starting from the last one
+    public static PositionMap until(File file, long offset) {
+        return of(file, DEFAULT_INTERVAL, offset);
+    }
+
+    static PositionMap of(File file, int interval) {
+        return of(file, interval, Long.MAX_VALUE);
+    }
+
+    private static PositionMap of(File file, int interval, long limit) {
+        var bytes = new long[16];
+        var chars = new long[16];
+        var count = 0;
+        try (var input = new FileInputStream(file)) {
+            var buffer = new byte[8192];
+            var position = 0L;
+            var charPosition = 0L;
+            var next = 0L;
+            for (int read; position <= limit && (read = input.read(buffer)) != -1; ) {
+                for (int i = 0; i < read; i++, position++) {
+                    if (isContinuation(buffer[i])) {
+                        continue;
+                    }
+                    //checkpoints are placed at the first byte of a character
+                    if (position >= next) {
+                        if (count == bytes.length) {
+                            bytes = Arrays.copyOf(bytes, count * 2);
+                            chars = Arrays.copyOf(chars, count * 2);
+                        }
+                        bytes[count] = position;
+                        chars[count] = charPosition;
+                        count++;
+                        next = position + interval;
+                    }
+                    charPosition += getLength(buffer[i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new PositionMap(file, bytes, chars, count);
+    }
+
+    public long toCharOffset(long byteOffset) {
+        var checkpoint = findCheckpoint(bytes, byteOffset);
+        if (checkpoint < 0) {
+            return byteOffset;
+        }
+        var charOffset = chars[checkpoint];
+        try (var input = open(bytes[checkpoint])) {
+            var buffer = new byte[8192];
+            var position = bytes[checkpoint];
+            for (int read; position < byteOffset && (read = input.read(buffer)) != -1; ) {
+                for (int i = 0; i < read && position < byteOffset; i++, position++) {
+                    if (!isContinuation(buffer[i])) {
+                        charOffset += getLength(buffer[i]);
+                    }
+                }
+            }
+            return charOffset;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long toByteOffset(long charOffset) {
+        var checkpoint = findCheckpoint(chars, charOffset);
+        if (checkpoint < 0) {
+            return charOffset;
+        }
+        var position = bytes[checkpoint];
+        try (var input = open(position)) {
+            var buffer = new byte[8192];
+            var charPosition = chars[checkpoint];
+            for (int read; (read = input.read(buffer)) != -1; ) {
+                for (int i = 0; i < read; i++, position++) {
+                    if (isContinuation(buffer[i])) {
+                        continue;
+                    }
+                    if (charPosition >= charOffset) {
+                        return position;
+                    }
+                    charPosition += getLength(buffer[i]);
+                }
+            }
+            return position;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //index of the last checkpoint at or before the given offset
+    private int findCheckpoint(long[] offsets, long offset) {
+        var index = Arrays.binarySearch(offsets, 0, count, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private InputStream open(long from) throws IOException {
+        var input = new FileInputStream(file);
+        input.getChannel().position(from);
+        return input;
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    //characters encoded with 4 bytes are represented with surrogate pairs
+    private static int getLength(byte b) {
+        return (b & 0xF8) == 0xF0 ? 2 : 1;
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.idegtiarenko.json;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+//space-saving sketch: approximates most frequent values with a bounded number of counters,
+//counters are kept in an indexed min-heap so that the minimal one is evicted in O(log capacity)
+public class SpaceSaving {
+
+    private final int capacity;
+    private final String[] values;
+    private final long[] counts;
+    //position of a value in the heap
+    private final Map<String, Integer> positions = new HashMap<>();
+    private int size = 0;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.values = new String[capacity];
+        this.counts = new long[capacity];
+    }
+
+    public void add(String value) {
+        add(value, 1);
+    }
+
+    public void merge(SpaceSaving other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.values[i], other.counts[i]);
+        }
+    }
+
+    //counts are overestimated by at most the count of the evicted value
+    public List<Map.Entry<String, Long>> top(int k) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> Map.entry(values[i], counts[i]))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(k)
+                .toList();
+    }
+
+    private void add(String value, long count) {
+        var position = positions.get(value);
+        if (position != null) {
+            counts[position] += count;
+            siftDown(position);
+        } else if (size < capacity) {
+            values[size] = value;
+            counts[size] = count;
+            positions.put(value, size);
+            siftUp(size++);
+        } else if (capacity > 0) {
+            //the minimal counter is replaced keeping its count as the possible error
+            positions.remove(values[0]);
+            values[0] = value;
+            counts[0] += count;
+            positions.put(value, 0);
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            var parent = (position - 1) / 2;
+            if (counts[parent] <= counts[position]) {
+                return;
+            }
+            swap(parent, position);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            var min = position;
+            var left = 2 * position + 1;
+            var right = left + 1;
+            if (left < size && counts[left] < counts[min]) {
+                min = left;
+            }
+            if (right < size && counts[right] < counts[min]) {
+                min = right;
+            }
+            if (min == position) {
+                return;
+            }
+            swap(min, position);
+            position = min;
+        }
+    }
+
+    private void swap(int i, int j) {
+        var value = values[i];
+        var count = counts[i];
+        values[i] = values[j];
+        counts[i] = counts[j];
+        values[j] = value;
+        counts[j] = count;
+        positions.put(values[i], i);
+        positions.put(values[j], j);
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.idegtiarenko.json;
+
+import java.util.Arrays;
+
+//merging t-digest: approximates quantiles with a bounded number of centroids that are smaller close to the tails
+public class TDigest {
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int centroids = 0;
+    private final double[] buffer;
+    private int buffered = 0;
+    private boolean merged = false;
+    private long count = 0;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest(double compression) {
+        this.compression = compression;
+        this.means = new double[(int) Math.ceil(compression) * 2 + 8];
+        this.weights = new double[means.length];
+        this.buffer = new double[means.length * 4];
+    }
+
+    public void add(double value) {
+        if (buffered == buffer.length) {
+            compress();
+        }
+        buffer[buffered++] = value;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(TDigest other) {
+        other.compress();
+        compress();
+        var total = centroids + other.centroids;
+        var mergedMeans = Arrays.copyOf(means, Math.max(means.length, total));
+        var mergedWeights = Arrays.copyOf(weights, mergedMeans.length);
+        System.arraycopy(other.means, 0, mergedMeans, centroids, other.centroids);
+        System.arraycopy(other.weights, 0, mergedWeights, centroids, other.centroids);
+        means = mergedMeans;
+        weights = mergedWeights;
+        centroids = total;
+        merged = true;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compress();
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    public double quantile(double q) {
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        } else if (centroids == 1) {
+            return means[0];
+        }
+        var index = q * count;
+        if (index <= weights[0] / 2) {
+            return interpolate(min, means[0], index / (weights[0] / 2));
+        }
+        var cumulative = weights[0] / 2;
+        for (int i = 0; i + 1 < centroids; i++) {
+            var distance = (weights[i] + weights[i + 1]) / 2;
+            if (index <= cumulative + distance) {
+                return interpolate(means[i], means[i + 1], (index - cumulative) / distance);
+            }
+            cumulative += distance;
+        }
+        var last = weights[centroids - 1] / 2;
+        return interpolate(means[centroids - 1], max, Math.min(1, (index - cumulative) / last));
+    }
+
+    private static double interpolate(double from, double to, double ratio) {
+        return from + (to - from) * ratio;
+    }
+
+    private void compress() {
+        if (buffered == 0 && !merged) {
+            return;
+        }
+        var size = centroids + buffered;
+        var allMeans = Arrays.copyOf(means, Math.max(means.length, size));
+        var allWeights = Arrays.copyOf(weights, allMeans.length);
+        for (int i = 0; i < buffered; i++) {
+            allMeans[centroids + i] = buffer[i];
+            allWeights[centroids + i] = 1;
+        }
+        buffered = 0;
+        merged = false;
+        sort(allMeans, allWeights, size);
+
+        var total = 0.0;
+        for (int i = 0; i < size; i++) {
+            total += allWeights[i];
+        }
+        var last = 0;
+        var processed = 0.0;
+        for (int i = 1; i < size; i++) {
+            var proposed = allWeights[last] + allWeights[i];
+            var q0 = processed / total;
+            var q2 = (processed + proposed) / total;
+            //centroids near the tails are kept small to preserve accuracy of extreme quantiles
+            var limit = 4 * total * Math.min(q0 * (1 - q0), q2 * (1 - q2)) / compression;
+            if (proposed <= Math.max(1, limit)) {
+                allMeans[last] += (allMeans[i] - allMeans[last]) * allWeights[i] / proposed;
+                allWeights[last] = proposed;
+            } else {
+                processed += allWeights[last];
+                last++;
+                allMeans[last] = allMeans[i];
+                allWeights[last] = allWeights[i];
+            }
+        }
+        centroids = size > 0 ? last + 1 : 0;
+        means = Arrays.copyOf(allMeans, Math.max(centroids, buffer.length / 4));
+        weights = Arrays.copyOf(allWeights, means.length);
+    }
+
+    private static void sort(double[] means, double[] weights, int size) {
+        var indexes = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, (a, b) -> Double.compare(means[a], means[b]));
+        var sortedMeans = new double[size];
+        var sortedWeights = new double[size];
+        for (int i = 0; i < size; i++) {
+            sortedMeans[i] = means[indexes[i]];
+            sortedWeights[i] = weights[indexes[i]];
+        }
+        System.arraycopy(sortedMeans, 0, means, 0, size);
+        System.arraycopy(sortedWeights, 0, weights, 0, size);
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.idegtiarenko.json.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.github.idegtiarenko.json.BackgroundTask")
+@Label("Background task")
+@Category("Json viewer")
+public class BackgroundTaskEvent extends Event {
+
+    @Label("Task")
+    public String task;
+
+    @Label("Total size")
+    public long totalSize;
+
+    @Label("Queued")
+    @Timespan(Timespan.MILLISECONDS)
+    public long queued;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,20 @@
+package com.github.idegtiarenko.json.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.github.idegtiarenko.json.CellUpdate")
+@Label("Cell update")
+@Category("Json viewer")
+@Threshold("1 ms")
+public class CellUpdateEvent extends Event {
+
+    @Label("Cell")
+    public String cell;
+
+    @Label("Empty")
+    public boolean empty;
+}
@@ -0,0 +1,21 @@
+package com.github.idegtiarenko.json.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.idegtiarenko.json.Expand")
+@Label("Expand")
+@Category("Json viewer")
+public class ExpandEvent extends Event {
+
+    @Label("Node")
+    public String node;
+
+    @Label("Children")
+    public int children;
+
+    @Label("Parsed again")
+    public boolean parsed;
+}
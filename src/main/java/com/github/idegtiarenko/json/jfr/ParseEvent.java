@@ -0,0 +1,23 @@
+package com.github.idegtiarenko.json.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.idegtiarenko.json.Parse")
+@Label("Parse")
+@Category("Json viewer")
+public class ParseEvent extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Parsed size")
+    @DataAmount
+    public long size;
+}
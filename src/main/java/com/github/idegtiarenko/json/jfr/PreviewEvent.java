@@ -0,0 +1,18 @@
+package com.github.idegtiarenko.json.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.idegtiarenko.json.Preview")
+@Label("Preview")
+@Category("Json viewer")
+public class PreviewEvent extends Event {
+
+    @Label("Node")
+    public String node;
+
+    @Label("Length")
+    public int length;
+}
@@ -0,0 +1,36 @@
+package com.github.idegtiarenko.json.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+public class Recordings {
+
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS = List.of(
+            ParseEvent.class,
+            ExpandEvent.class,
+            PreviewEvent.class,
+            CellUpdateEvent.class,
+            BackgroundTaskEvent.class
+    );
+
+    //records default jvm events (including gc) together with the application ones, the file is written once recording is stopped
+    public static Recording start(Path destination) {
+        try {
+            var recording = new Recording(Configuration.getConfiguration("default"));
+            EVENTS.forEach(recording::enable);
+            recording.setDestination(destination);
+            recording.start();
+            return recording;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.idegtiarenko.json.ui;
+
+import com.github.idegtiarenko.json.ChildrenOrder;
+import com.github.idegtiarenko.json.EvictableChildren;
+import com.github.idegtiarenko.json.Node;
+import com.github.idegtiarenko.json.ui.components.BackgroundTaskExecutor;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeTableColumn;
+import javafx.scene.control.TreeTableView;
+
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+public class ChildrenSorter {
+
+    private final BackgroundTaskExecutor executor;
+    private final Consumer<Exception> onError;
+    private ChildrenOrder order = null;
+    private boolean descending = false;
+
+    public ChildrenSorter(BackgroundTaskExecutor executor, Consumer<Exception> onError) {
+        this.executor = executor;
+        this.onError = onError;
+    }
+
+    //sort policy replacing default sorting of tree items on the ui thread, columns are expected to hold ChildrenOrder as user data
+    public boolean sort(TreeTableView<Node> tree) {
+        var sortOrder = tree.getSortOrder();
+        if (sortOrder.isEmpty()) {
+            order = null;
+            descending = false;
+        } else {
+            var column = sortOrder.get(0);
+            order = (ChildrenOrder) column.getUserData();
+            descending = column.getSortType() == TreeTableColumn.SortType.DESCENDING;
+        }
+        if (tree.getRoot() != null) {
+            updateExpanded(tree.getRoot());
+        }
+        return true;
+    }
+
+    public void filter(JsonNodeTreeItem item, Predicate<Node> filter) {
+        item.setFilter(filter);
+        update(item);
+    }
+
+    //children released on collapse are displayed in natural order once expanded again, so both order and filter are reapplied
+    public void onExpanded(TreeItem<Node> item) {
+        if (item instanceof JsonNodeTreeItem jsonItem) {
+            if (!jsonItem.isLoaded()) {
+                load(jsonItem);
+            } else if (order != null || jsonItem.getFilter() != null) {
+                update(jsonItem);
+            }
+        }
+    }
+
+    //evicted children are parsed again in background and displayed once they are ready
+    private void load(JsonNodeTreeItem item) {
+        var node = item.getValue();
+        executor.submit(new BackgroundTaskExecutor.Task<Void>() {
+            @Override
+            public String getName() {
+                return "Loading children of " + node.name();
+            }
+
+            @Override
+            public long getTotalSize() {
+                return node.childrenCount();
+            }
+
+            @Override
+            public Void execute(LongConsumer onProgress) {
+                if (node.children() instanceof EvictableChildren evictable) {
+                    evictable.load();
+                }
+                return null;
+            }
+
+            @Override
+            public void onSuccess(Void result) {
+                item.load();
+                if (!item.isLoaded() && item.isExpanded()) {
+                    //evicted again before the expanded item pinned them
+                    load(item);
+                } else if (item.isLoaded() && (order != null || item.getFilter() != null)) {
+                    update(item);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                //collapsed so that expanding it again retries loading, for example once the file is available again
+                item.setExpanded(false);
+                onError.accept(e);
+            }
+        });
+    }
+
+    private void updateExpanded(TreeItem<Node> item) {
+        if (item.isExpanded() && item instanceof JsonNodeTreeItem jsonItem) {
+            update(jsonItem);
+            for (var child : item.getChildren()) {
+                updateExpanded(child);
+            }
+        }
+    }
+
+    private void update(JsonNodeTreeItem item) {
+        var order = this.order;
+        var descending = this.descending;
+        var filter = item.getFilter();
+        var version = item.nextVersion();
+        if (order == null && filter == null) {
+            if (!item.isShownInNaturalOrder()) {
+                item.show(null);
+            }
+            return;
+        }
+        var cached = order != null ? item.getCachedOrder(order) : null;
+        if (cached != null && filter == null) {
+            item.show(descending ? ChildrenOrder.reverse(cached) : cached);
+            return;
+        }
+        var node = item.getValue();
+        executor.submit(new BackgroundTaskExecutor.Task<int[]>() {
+            @Override
+            public String getName() {
+                return "Sorting children of " + node.name();
+            }
+
+            @Override
+            public long getTotalSize() {
+                return node.childrenCount();
+            }
+
+            @Override
+            public int[] execute(LongConsumer onProgress) {
+                var indexes = cached;
+                if (order != null && indexes == null) {
+                    indexes = order.sort(node.children());
+                    item.cacheOrder(order, indexes);
+                }
+                if (indexes != null && descending) {
+                    indexes = ChildrenOrder.reverse(indexes);
+                }
+                return filter != null ? ChildrenOrder.filter(node.children(), indexes, filter) : indexes;
+            }
+
+            @Override
+            public void onSuccess(int[] result) {
+                if (result != null && item.isLatestVersion(version)) {
+                    item.show(result);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                //children stay displayed as before, sorting or filtering them again submits a new task
+                onError.accept(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.idegtiarenko.json.ui;
+
+import com.github.idegtiarenko.json.Json;
+import com.github.idegtiarenko.json.ui.components.BackgroundTaskExecutor;
+import com.github.idegtiarenko.json.ui.components.FileWatcher;
+import com.github.idegtiarenko.json.ui.components.MutableObservableValue;
+
+import java.util.function.LongConsumer;
+import java.util.function.UnaryOperator;
+
+public class FileFollower {
+
+    private final MutableObservableValue<JsonViewerState> state;
+    private final BackgroundTaskExecutor executor;
+    private final FileWatcher watcher;
+    private boolean enabled = false;
+    private boolean updating = false;
+    private FileWatcher.Change pending = null;
+
+    public FileFollower(MutableObservableValue<JsonViewerState> state, BackgroundTaskExecutor executor) {
+        this.state = state;
+        this.executor = executor;
+        this.watcher = new FileWatcher(this::onChange);
+        state.addListener((observable, oldValue, newValue) -> refresh());
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        refresh();
+    }
+
+    private void refresh() {
+        var current = state.getValue();
+        watcher.watch(enabled && current != null ? current.file() : null);
+    }
+
+    private void onChange(FileWatcher.Change change) {
+        if (updating) {
+            //coalesce changes until the running update completes
+            pending = pending == FileWatcher.Change.REPLACED ? pending : change;
+        } else {
+            update(change);
+        }
+    }
+
+    private void update(FileWatcher.Change change) {
+        var current = state.getValue();
+        if (current == null) {
+            return;
+        }
+        updating = true;
+        //appended nodes are merged on the ui thread as the tree might be reading the same children concurrently
+        executor.submit(new BackgroundTaskExecutor.Task<UnaryOperator<JsonViewerState>>() {
+            @Override
+            public String getName() {
+                return "Following json file";
+            }
+
+            @Override
+            public long getTotalSize() {
+                var length = current.file().length();
+                return change == FileWatcher.Change.REPLACED || !current.isAppendable() ? length : Math.max(0, length - current.node().to());
+            }
+
+            @Override
+            public UnaryOperator<JsonViewerState> execute(LongConsumer onProgress) {
+                //partially parsed files are parsed again as their end is not known to be at a value boundary
+                var appended = change == FileWatcher.Change.APPENDED && current.isAppendable()
+                        ? Json.parseAppended(current.file(), current.node(), onProgress)
+                        : null;
+                if (appended != null) {
+                    return it -> it.append(appended);
+                }
+                var reloaded = JsonViewerState.from(current.file(), onProgress);
+                return it -> reloaded;
+            }
+
+            @Override
+            public void onSuccess(UnaryOperator<JsonViewerState> result) {
+                //ignore results if another file was opened in the meantime
+                if (result != null && state.getValue() == current) {
+                    state.setValue(result.apply(current));
+                }
+                complete();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                //keep the current state, the file is retried on the next change
+                complete();
+            }
+        });
+    }
+
+    private void complete() {
+        updating = false;
+        if (pending != null) {
+            var change = pending;
+            pending = null;
+            update(change);
+        }
+    }
+}
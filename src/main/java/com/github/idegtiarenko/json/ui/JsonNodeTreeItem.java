@@ -1,17 +1,121 @@
 package com.github.idegtiarenko.json.ui;
 
+import com.github.idegtiarenko.json.AppendableChildren;
+import com.github.idegtiarenko.json.ChildrenOrder;
+import com.github.idegtiarenko.json.EvictableChildren;
+import com.github.idegtiarenko.json.JsonPath;
 import com.github.idegtiarenko.json.Node;
+import com.github.idegtiarenko.json.jfr.ExpandEvent;
 import javafx.collections.ObservableList;
 import javafx.scene.control.TreeItem;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
 public class JsonNodeTreeItem extends TreeItem<Node> {
 
-    private final Node node;
-    private boolean initialized = false;
+    private Node node;
+    private List<JsonNodeTreeItem> items = null;
+    //indexes of displayed children, null when all children are displayed in natural order
+    private int[] shown = null;
+    //shown has spare capacity for appended children
+    private int shownCount = 0;
+    //children of evictable containers are displayed once they are parsed
+    private boolean loaded;
+    private boolean pinned = false;
+    //lasts from expanding the item until its children are displayed, including parsing evicted ones again
+    private ExpandEvent expanding = null;
+    private Predicate<Node> filter = null;
+    private final Map<ChildrenOrder, int[]> orders = new ConcurrentHashMap<>();
+    private int version = 0;
 
     public JsonNodeTreeItem(Node node) {
         super(node);
         this.node = node;
+        this.loaded = !(node.children() instanceof EvictableChildren);
+        expandedProperty().addListener((observable, wasExpanded, expanded) -> onExpanded(expanded));
+    }
+
+    private void onExpanded(boolean expanded) {
+        if (expanded) {
+            expanding = new ExpandEvent();
+            expanding.begin();
+            expanding.parsed = node.children() instanceof EvictableChildren evictable && !evictable.isMaterialized();
+        } else {
+            expanding = null;
+        }
+        if (node.children() instanceof EvictableChildren evictable) {
+            onExpanded(evictable, expanded);
+        }
+        if (expanded && loaded) {
+            getChildren();
+            onDisplayed();
+        }
+    }
+
+    private void onDisplayed() {
+        var event = expanding;
+        expanding = null;
+        if (event != null) {
+            event.node = node.name();
+            event.children = items != null ? items.size() : 0;
+            event.commit();
+        }
+    }
+
+    //expanded children are kept in memory, collapsed ones are released so that they could be evicted,
+    //evicted children are parsed again in background before they are displayed, see ChildrenSorter
+    private void onExpanded(EvictableChildren evictable, boolean expanded) {
+        if (expanded) {
+            if (!pinned) {
+                evictable.pin();
+                pinned = true;
+            }
+            load();
+        } else {
+            unpin();
+            release();
+            loaded = false;
+            items = null;
+            shown = null;
+            shownCount = 0;
+            super.getChildren().clear();
+        }
+    }
+
+    private void unpin() {
+        if (pinned && node.children() instanceof EvictableChildren evictable) {
+            evictable.unpin();
+            pinned = false;
+        }
+    }
+
+    //dropped items are never displayed again, so children pinned by their expanded descendants are released as well
+    private void release() {
+        if (items != null) {
+            for (var item : items) {
+                item.unpin();
+                item.release();
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    //displays children of the expanded item if they are parsed, so that they are never parsed on the ui thread
+    public void load() {
+        if (!loaded && isExpanded() && node.children() instanceof EvictableChildren evictable && evictable.isMaterialized()) {
+            loaded = true;
+            getChildren();
+            onDisplayed();
+        }
     }
 
     @Override
@@ -21,10 +125,101 @@ public class JsonNodeTreeItem extends TreeItem<Node> {
 
     @Override
     public ObservableList<TreeItem<Node>> getChildren() {
-        if (!initialized) {
-            initialized = true;
-            super.getChildren().setAll(node.children().stream().map(JsonNodeTreeItem::new).toList());
+        if (items == null && loaded) {
+            items = new ArrayList<>(node.children().stream().map(JsonNodeTreeItem::new).toList());
+            super.getChildren().setAll(items);
         }
         return super.getChildren();
     }
+
+    //replaces displayed children at once, indexes are null to display all children in natural order
+    public void show(int[] indexes) {
+        if (!loaded) {
+            return;
+        }
+        getChildren();
+        shown = indexes;
+        shownCount = indexes != null ? indexes.length : 0;
+        super.getChildren().setAll(indexes != null ? Arrays.stream(indexes).mapToObj(items::get).toList() : items);
+    }
+
+    public int indexOf(String name) {
+        return JsonPath.indexOf(node, name);
+    }
+
+    //returns the item of the child with the given index making sure it is displayed even if it does not match the filter,
+    //the item is expected to be expanded with its children parsed
+    public JsonNodeTreeItem reveal(int index) {
+        load();
+        getChildren();
+        if (shown != null && Arrays.stream(shown, 0, shownCount).noneMatch(i -> i == index)) {
+            nextVersion();
+            filter = null;
+            show(null);
+        }
+        return items.get(index);
+    }
+
+    public boolean isShownInNaturalOrder() {
+        return shown == null;
+    }
+
+    public Predicate<Node> getFilter() {
+        return filter;
+    }
+
+    public void setFilter(Predicate<Node> filter) {
+        this.filter = filter;
+    }
+
+    //ascending order is cached as it does not change unless children are appended
+    public int[] getCachedOrder(ChildrenOrder order) {
+        var indexes = orders.get(order);
+        return indexes != null && indexes.length == node.childrenCount() ? indexes : null;
+    }
+
+    public void cacheOrder(ChildrenOrder order, int[] indexes) {
+        orders.put(order, indexes);
+    }
+
+    //identifies the latest requested children update, results of outdated ones are ignored
+    public int nextVersion() {
+        return ++version;
+    }
+
+    public boolean isLatestVersion(int version) {
+        return this.version == version;
+    }
+
+    //adds items for children appended to the same node, returns false if the node is not an extension of the current one
+    public boolean tryAppend(Node updated) {
+        if (!(updated.children() instanceof AppendableChildren children && children.isExtensionOf(node.children())) || updated.from() != node.from()) {
+            return false;
+        }
+        nextVersion();
+        if (items != null) {
+            var from = items.size();
+            var appended = updated.children().subList(from, updated.childrenCount()).stream().map(JsonNodeTreeItem::new).toList();
+            items.addAll(appended);
+            if (shown == null && filter == null) {
+                super.getChildren().addAll(appended);
+            } else {
+                //appended children are displayed last until the next sorting
+                var matching = IntStream.range(from, items.size()).filter(i -> filter == null || filter.test(items.get(i).node)).toArray();
+                if (shown == null) {
+                    shown = IntStream.range(0, from).toArray();
+                    shownCount = from;
+                }
+                if (shownCount + matching.length > shown.length) {
+                    shown = Arrays.copyOf(shown, Math.max(2 * shown.length, shownCount + matching.length));
+                }
+                System.arraycopy(matching, 0, shown, shownCount, matching.length);
+                shownCount += matching.length;
+                super.getChildren().addAll(Arrays.stream(matching).mapToObj(items::get).toList());
+            }
+        }
+        node = updated;
+        setValue(updated);
+        return true;
+    }
 }
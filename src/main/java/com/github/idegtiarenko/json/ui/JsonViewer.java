@@ -1,43 +1,73 @@
 package com.github.idegtiarenko.json.ui;
 
+import com.github.idegtiarenko.json.Aggregation;
+import com.github.idegtiarenko.json.ChildrenOrder;
+import com.github.idegtiarenko.json.EvictableChildren;
+import com.github.idegtiarenko.json.Export;
 import com.github.idegtiarenko.json.Json;
+import com.github.idegtiarenko.json.JsonPath;
+import com.github.idegtiarenko.json.MemoryGovernor;
 import com.github.idegtiarenko.json.Node;
+import com.github.idegtiarenko.json.ParseError;
+import com.github.idegtiarenko.json.jfr.PreviewEvent;
+import com.github.idegtiarenko.json.jfr.Recordings;
 import com.github.idegtiarenko.json.ui.components.BackgroundTaskExecutor;
 import com.github.idegtiarenko.json.ui.components.LabeledProgressBarTreeTableCell;
 import com.github.idegtiarenko.json.ui.components.MutableObservableValue;
+import com.github.idegtiarenko.json.ui.components.PerformanceHud;
 import com.github.idegtiarenko.json.ui.components.ProgressAndLabel;
 import javafx.application.Application;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.CheckMenuItem;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.ListView;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.SelectionMode;
 import javafx.scene.control.SeparatorMenuItem;
 import javafx.scene.control.SplitPane;
 import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeTableColumn;
 import javafx.scene.control.TreeTableView;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
 import javafx.scene.layout.VBox;
-import javafx.scene.text.Text;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import jdk.jfr.Recording;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static com.github.idegtiarenko.json.FileSystem.sizeToString;
 import static com.github.idegtiarenko.json.ui.components.NodeUtils.fillHeight;
 import static com.github.idegtiarenko.json.ui.components.NodeUtils.fillWidth;
+import static com.github.idegtiarenko.json.ui.components.NodeUtils.setShown;
 import static javafx.scene.control.TreeTableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS;
 
 public class JsonViewer extends Application {
 
     private static final String APP_NAME = "Json viewer";
 
+    private Recording recording;
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -45,14 +75,21 @@ public class JsonViewer extends Application {
     @Override
     public void start(Stage stage) {
 
+        getRecordingDestination().ifPresent(destination -> recording = Recordings.start(destination));
+        getMemoryBudget().ifPresent(MemoryGovernor::setBudget);
+
         var state = new MutableObservableValue<JsonViewerState>();
         var fileChooser = new FileChooser();
         var executor = new BackgroundTaskExecutor();
+        var follower = new FileFollower(state, executor);
+        var sorter = new ChildrenSorter(executor, this::showErrorDialogFor);
+        var hud = new PerformanceHud();
 
         var root = new VBox(
-                createMenu(stage, state, fileChooser, executor),
-                createJsonViewer(state),
-                executor.getLabeledProgressBar()
+                createMenu(stage, state, fileChooser, executor, follower, hud),
+                createJsonViewer(stage, state, fileChooser, executor, sorter),
+                executor.getLabeledProgressBar(),
+                hud
         );
 
         stage.setTitle(APP_NAME);
@@ -62,11 +99,21 @@ public class JsonViewer extends Application {
         getInitialFile().ifPresent(file -> openFile(state, executor, file));
     }
 
+    @Override
+    public void stop() {
+        if (recording != null) {
+            recording.stop();
+            recording.close();
+        }
+    }
+
     private MenuBar createMenu(
             Stage stage,
             MutableObservableValue<JsonViewerState> state,
             FileChooser fileChooser,
-            BackgroundTaskExecutor executor
+            BackgroundTaskExecutor executor,
+            FileFollower follower,
+            PerformanceHud hud
     ) {
 
         var open = new MenuItem("Open");
@@ -80,15 +127,21 @@ public class JsonViewer extends Application {
         var close = new MenuItem("Close");
         close.setOnAction(event -> state.reset());
 
+        var follow = new CheckMenuItem("Follow");
+        follow.selectedProperty().addListener((observable, oldValue, newValue) -> follower.setEnabled(newValue));
+
         var exit = new MenuItem("Exit");
         exit.setOnAction(event -> stage.close());
 
+        var showHud = new CheckMenuItem("Performance HUD");
+        showHud.selectedProperty().addListener((observable, oldValue, newValue) -> hud.setEnabled(newValue));
+
         var about = new MenuItem("About");
         about.setOnAction(event -> showAboutDialog());
 
         return new MenuBar(
-                new Menu("File", null, open, close, new SeparatorMenuItem(), exit),
-                new Menu("Help", null, about)
+                new Menu("File", null, open, close, new SeparatorMenuItem(), follow, new SeparatorMenuItem(), exit),
+                new Menu("Help", null, showHud, about)
         );
     }
 
@@ -100,12 +153,12 @@ public class JsonViewer extends Application {
             }
 
             @Override
-            public int getTotalSize() {
-                return file != null ? (int) file.length() : 0;
+            public long getTotalSize() {
+                return file != null ? file.length() : 0;
             }
 
             @Override
-            public JsonViewerState execute(IntConsumer onProgress) {
+            public JsonViewerState execute(LongConsumer onProgress) {
                 return JsonViewerState.from(file, onProgress);
             }
 
@@ -138,24 +191,45 @@ public class JsonViewer extends Application {
         about.showAndWait();
     }
 
-    private VBox createJsonViewer(ObservableValue<JsonViewerState> state) {
+    private VBox createJsonViewer(
+            Stage stage,
+            ObservableValue<JsonViewerState> state,
+            FileChooser fileChooser,
+            BackgroundTaskExecutor executor,
+            ChildrenSorter sorter
+    ) {
 
-        var path = new Text();
+        var path = new TextField();
+        path.setPromptText("Go to path, such as \" > key > 0\" or \"$.key[0]\"");
 
         var preview = fillWidth(new TextArea());
         preview.setEditable(false);
 
+        var errors = new ListView<String>();
+        errors.setPrefHeight(100);
+        setShown(errors, false);
+
         var tree = fillWidth(new TreeTableView<Node>());
         tree.setColumnResizePolicy(CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+        tree.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        path.setOnAction(event -> goTo(tree, executor, path.getText()));
+        errors.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
+            var index = errors.getSelectionModel().getSelectedIndex();
+            if (newValue != null && index >= 0) {
+                goTo(tree, executor, state.getValue().errors().get(index));
+            }
+        });
+        tree.setContextMenu(createContextMenu(stage, state, tree, fileChooser, executor, sorter));
+        tree.setSortPolicy(sorter::sort);
         tree.getColumns().addAll(
-                createColumn("name", 0.45, Node::name),
-                createColumn("direct" + System.lineSeparator() + "children", 0.15, Node::childrenCount),
-                createLabeledProgressBarColumn("recursive" + System.lineSeparator() + "children", 0.2, node -> {
+                createColumn("name", 0.45, ChildrenOrder.NAME, Node::name),
+                createColumn("direct" + System.lineSeparator() + "children", 0.15, ChildrenOrder.CHILDREN_COUNT, Node::childrenCount),
+                createLabeledProgressBarColumn("recursive" + System.lineSeparator() + "children", 0.2, ChildrenOrder.RECURSIVE_CHILDREN_COUNT, node -> {
                     var totalSize = state.getValue().node().recursiveChildrenCount();
                     var currentSize = node.recursiveChildrenCount();
                     return new ProgressAndLabel(currentSize, totalSize, Integer.toString(currentSize));
                 }),
-                createLabeledProgressBarColumn("size", 0.2, node -> {
+                createLabeledProgressBarColumn("size", 0.2, ChildrenOrder.SIZE, node -> {
                     var totalSize = state.getValue().node().size();
                     var currentSize = node.size();
                     return new ProgressAndLabel(currentSize, totalSize, sizeToString(currentSize));
@@ -165,30 +239,417 @@ public class JsonViewer extends Application {
         tree.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
             if (newValue != null) {
                 path.setText(Json.toAbbreviatedJsonPath(newValue, 256));
-                preview.setText(Json.toAbbreviatedFormattedString(newValue.getValue(), 1024));
+                preview(preview, newValue.getValue(), executor, () -> tree.getSelectionModel().getSelectedItem() == newValue);
             } else {
                 path.setText("");
                 preview.setText("");
             }
         });
 
-        state.addListener((observable, oldValue, newValue) -> tree.setRoot(newValue != null ? new JsonNodeTreeItem(newValue.node()) : null));
+        state.addListener((observable, oldValue, newValue) -> {
+            if (newValue == null || newValue.errors().isEmpty()) {
+                errors.getItems().clear();
+                setShown(errors, false);
+            } else if (oldValue == null || oldValue.errors() != newValue.errors()) {
+                errors.getItems().setAll(newValue.errors().stream().map(error -> "char " + error.charOffset() + " (byte " + error.offset() + "): " + error.message()).toList());
+                setShown(errors, true);
+            }
+            if (newValue == null) {
+                tree.setRoot(null);
+            } else if (!(tree.getRoot() instanceof JsonNodeTreeItem root && root.tryAppend(newValue.node()))) {
+                var root = new JsonNodeTreeItem(newValue.node());
+                root.addEventHandler(TreeItem.<Node>branchExpandedEvent(), event -> sorter.onExpanded(event.getTreeItem()));
+                tree.setRoot(root);
+            }
+        });
 
         return fillHeight(new VBox(
                 path,
-                fillHeight(new SplitPane(tree, preview))
+                fillHeight(new SplitPane(tree, preview)),
+                errors
         ));
     }
 
-    private <T> TreeTableColumn<Node, T> createColumn(String name, double widthRatio, Function<Node, T> extractor) {
+    //containers that might have evicted children are formatted in background as they might need to be parsed again
+    private void preview(TextArea preview, Node node, BackgroundTaskExecutor executor, BooleanSupplier isSelected) {
+        if (!MemoryGovernor.mayContainEvicted(node)) {
+            preview.setText(format(node));
+            return;
+        }
+        preview.setText("");
+        executor.submit(new BackgroundTaskExecutor.Task<String>() {
+            @Override
+            public String getName() {
+                return "Formatting " + node.name();
+            }
+
+            @Override
+            public long getTotalSize() {
+                return node.size();
+            }
+
+            @Override
+            public String execute(LongConsumer onProgress) {
+                return format(node);
+            }
+
+            @Override
+            public void onSuccess(String result) {
+                if (result != null && isSelected.getAsBoolean()) {
+                    preview.setText(result);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                showErrorDialogFor(e);
+            }
+        });
+    }
+
+    private static String format(Node node) {
+        var event = new PreviewEvent();
+        event.begin();
+        var text = Json.toAbbreviatedFormattedString(node, 1024);
+        event.node = node.name();
+        event.length = text.length();
+        event.commit();
+        return text;
+    }
+
+    private void goTo(TreeTableView<Node> tree, BackgroundTaskExecutor executor, String path) {
+        List<String> names;
+        try {
+            names = JsonPath.parse(path);
+        } catch (IllegalArgumentException e) {
+            showErrorDialogFor(e);
+            return;
+        }
+        //fields of wide objects are found without scanning them
+        goTo(tree, executor, "Going to " + path, (root, pin) -> {
+            var indexes = new int[names.size()];
+            var node = root;
+            for (int i = 0; i < names.size(); i++) {
+                pin.accept(node);
+                indexes[i] = JsonPath.indexOf(node, names.get(i));
+                if (indexes[i] < 0) {
+                    var parent = names.subList(0, i).stream().map(name -> " > " + name).collect(Collectors.joining());
+                    throw new IllegalArgumentException("\"" + names.get(i) + "\" is not found in " + parent);
+                }
+                node = node.child(indexes[i]);
+            }
+            return indexes;
+        });
+    }
+
+    //selects the innermost node around the error
+    private void goTo(TreeTableView<Node> tree, BackgroundTaskExecutor executor, ParseError error) {
+        goTo(tree, executor, "Going to byte " + error.offset(), (root, pin) -> {
+            var indexes = new ArrayList<Integer>();
+            var node = root;
+            pin.accept(node);
+            for (var index = findChildAt(node, error.offset()); index >= 0; index = findChildAt(node, error.offset())) {
+                indexes.add(index);
+                node = node.child(index);
+                pin.accept(node);
+            }
+            return indexes.stream().mapToInt(Integer::intValue).toArray();
+        });
+    }
+
+    //indexes of nodes on the way to the target are found in background as evicted children might need to be parsed again,
+    //children on the way are pinned until the items displaying them are expanded, only these items are expanded
+    private void goTo(TreeTableView<Node> tree, BackgroundTaskExecutor executor, String name, BiFunction<Node, Consumer<Node>, int[]> resolver) {
+        if (!(tree.getRoot() instanceof JsonNodeTreeItem root)) {
+            return;
+        }
+        var node = root.getValue();
+        var pinned = new ArrayList<EvictableChildren>();
+        executor.submit(new BackgroundTaskExecutor.Task<int[]>() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public long getTotalSize() {
+                return node.size();
+            }
+
+            @Override
+            public int[] execute(LongConsumer onProgress) {
+                return resolver.apply(node, it -> {
+                    if (it.children() instanceof EvictableChildren evictable) {
+                        evictable.pin();
+                        pinned.add(evictable);
+                    }
+                });
+            }
+
+            @Override
+            public void onSuccess(int[] result) {
+                try {
+                    if (result != null && tree.getRoot() == root) {
+                        var item = root;
+                        for (var index : result) {
+                            item.setExpanded(true);
+                            item = item.reveal(index);
+                        }
+                        select(tree, item);
+                    }
+                } finally {
+                    pinned.forEach(EvictableChildren::unpin);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                pinned.forEach(EvictableChildren::unpin);
+                showErrorDialogFor(e);
+            }
+        });
+    }
+
+    //children are ordered by their offsets
+    private static int findChildAt(Node node, long offset) {
+        var children = node.children();
+        int low = 0, high = children.size() - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var child = children.get(middle);
+            if (child.to() < offset) {
+                low = middle + 1;
+            } else if (child.from() > offset) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static void select(TreeTableView<Node> tree, TreeItem<Node> item) {
+        tree.getSelectionModel().clearSelection();
+        tree.getSelectionModel().select(item);
+        tree.scrollTo(tree.getRow(item));
+    }
+
+    private ContextMenu createContextMenu(
+            Stage stage,
+            ObservableValue<JsonViewerState> state,
+            TreeTableView<Node> tree,
+            FileChooser fileChooser,
+            BackgroundTaskExecutor executor,
+            ChildrenSorter sorter
+    ) {
+        var copyRaw = new MenuItem("Copy raw");
+        copyRaw.setOnAction(event -> {
+            var item = tree.getSelectionModel().getSelectedItem();
+            if (item != null) {
+                copyRaw(state.getValue().file(), item.getValue(), executor);
+            }
+        });
+
+        var exportRaw = new MenuItem("Export raw");
+        exportRaw.setOnAction(event -> export(stage, state, getSelectedNodes(tree), fileChooser, executor, Export.Format.RAW));
+        var exportPretty = new MenuItem("Export formatted");
+        exportPretty.setOnAction(event -> export(stage, state, getSelectedNodes(tree), fileChooser, executor, Export.Format.PRETTY));
+        var exportMinified = new MenuItem("Export minified");
+        exportMinified.setOnAction(event -> export(stage, state, getSelectedNodes(tree), fileChooser, executor, Export.Format.MINIFIED));
+
+        var aggregate = new MenuItem("Aggregate values");
+        aggregate.setOnAction(event -> {
+            var item = tree.getSelectionModel().getSelectedItem();
+            if (item != null) {
+                aggregate(state.getValue().node(), item, executor);
+            }
+        });
+
+        var showChildren = new Menu("Show children", null,
+                createFilterMenuItem("All", tree, sorter, null),
+                createFilterMenuItem("Containers", tree, sorter, node -> node.type() != Node.Type.VALUE),
+                createFilterMenuItem("Larger than 1 KB", tree, sorter, node -> node.size() >= 1 << 10),
+                createFilterMenuItem("Larger than 1 MB", tree, sorter, node -> node.size() >= 1 << 20),
+                createFilterMenuItem("Larger than 100 MB", tree, sorter, node -> node.size() >= 100 << 20)
+        );
+
+        return new ContextMenu(copyRaw, new SeparatorMenuItem(), exportRaw, exportPretty, exportMinified, new SeparatorMenuItem(), aggregate, showChildren);
+    }
+
+    private void aggregate(Node root, TreeItem<Node> item, BackgroundTaskExecutor backgroundTaskExecutor) {
+        //elements of arrays are replaced with wildcards to aggregate the same field of all of them
+        var path = new ArrayList<String>();
+        var total = 1;
+        for (var current = item; current.getParent() != null; current = current.getParent()) {
+            var parent = current.getParent().getValue();
+            if (parent.type() == Node.Type.ARRAY || parent.type() == Node.Type.STREAM) {
+                path.add(0, Aggregation.ANY);
+                total = parent.childrenCount();
+            } else {
+                path.add(0, current.getValue().name());
+            }
+        }
+        var elements = total;
+        backgroundTaskExecutor.submit(new BackgroundTaskExecutor.Task<Aggregation>() {
+            @Override
+            public String getName() {
+                return "Aggregating " + String.join(" > ", path);
+            }
+
+            @Override
+            public long getTotalSize() {
+                return elements;
+            }
+
+            @Override
+            public Aggregation execute(LongConsumer onProgress) {
+                return Aggregation.of(root, path, onProgress);
+            }
+
+            @Override
+            public void onSuccess(Aggregation result) {
+                if (result != null) {
+                    showAggregationDialog(String.join(" > ", path), result);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                showErrorDialogFor(e);
+            }
+        });
+    }
+
+    private void showAggregationDialog(String path, Aggregation aggregation) {
+        var report = new StringBuilder();
+        report.append(String.format("count: %d (missing: %d)%n", aggregation.count(), aggregation.missing()));
+        report.append(String.format("nulls: %d (%.1f%%)%n", aggregation.nulls(), 100.0 * aggregation.nulls() / Math.max(1, aggregation.count())));
+        if (aggregation.numbers() > 0) {
+            report.append(String.format("numbers: %d%n", aggregation.numbers()));
+            report.append(String.format("min: %s, avg: %s, max: %s%n", aggregation.min(), aggregation.average(), aggregation.max()));
+            report.append(String.format(
+                    "p50: %s, p90: %s, p99: %s%n",
+                    aggregation.quantile(0.5),
+                    aggregation.quantile(0.9),
+                    aggregation.quantile(0.99)
+            ));
+        }
+        var top = aggregation.top(10);
+        if (!top.isEmpty()) {
+            report.append("top values:").append(System.lineSeparator());
+            top.forEach(entry -> report.append(String.format("  %s: ~%d%n", entry.getKey(), entry.getValue())));
+        }
+
+        var dialog = new Alert(Alert.AlertType.INFORMATION);
+        dialog.setTitle(APP_NAME);
+        dialog.setHeaderText(path);
+        dialog.setContentText(report.toString());
+        dialog.showAndWait();
+    }
+
+    private MenuItem createFilterMenuItem(String name, TreeTableView<Node> tree, ChildrenSorter sorter, Predicate<Node> filter) {
+        var item = new MenuItem(name);
+        item.setOnAction(event -> {
+            if (tree.getSelectionModel().getSelectedItem() instanceof JsonNodeTreeItem selected && !selected.isLeaf()) {
+                sorter.filter(selected, filter);
+                selected.setExpanded(true);
+            }
+        });
+        return item;
+    }
+
+    private List<Node> getSelectedNodes(TreeTableView<Node> tree) {
+        return tree.getSelectionModel().getSelectedItems().stream().filter(Objects::nonNull).map(TreeItem::getValue).toList();
+    }
+
+    private void copyRaw(File file, Node node, BackgroundTaskExecutor backgroundTaskExecutor) {
+        backgroundTaskExecutor.submit(new BackgroundTaskExecutor.Task<String>() {
+            @Override
+            public String getName() {
+                return "Copying node";
+            }
+
+            @Override
+            public long getTotalSize() {
+                return Export.getTotalSize(List.of(node));
+            }
+
+            @Override
+            public String execute(LongConsumer onProgress) {
+                return Export.toRawString(file, node);
+            }
+
+            @Override
+            public void onSuccess(String result) {
+                if (result != null) {
+                    var content = new ClipboardContent();
+                    content.putString(result);
+                    Clipboard.getSystemClipboard().setContent(content);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                showErrorDialogFor(e);
+            }
+        });
+    }
+
+    private void export(
+            Stage stage,
+            ObservableValue<JsonViewerState> state,
+            List<Node> nodes,
+            FileChooser fileChooser,
+            BackgroundTaskExecutor backgroundTaskExecutor,
+            Export.Format format
+    ) {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        var target = fileChooser.showSaveDialog(stage);
+        if (target == null) {
+            return;
+        }
+        var file = state.getValue().file();
+        backgroundTaskExecutor.submit(new BackgroundTaskExecutor.Task<Void>() {
+            @Override
+            public String getName() {
+                return "Exporting " + nodes.size() + " node(s)";
+            }
+
+            @Override
+            public long getTotalSize() {
+                return Export.getTotalSize(nodes);
+            }
+
+            @Override
+            public Void execute(LongConsumer onProgress) {
+                Export.export(file, nodes, target, format, onProgress);
+                return null;
+            }
+
+            @Override
+            public void onSuccess(Void result) {
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                showErrorDialogFor(e);
+            }
+        });
+    }
+
+    private <T> TreeTableColumn<Node, T> createColumn(String name, double widthRatio, ChildrenOrder order, Function<Node, T> extractor) {
         TreeTableColumn<Node, T> column = new TreeTableColumn<>(name);
+        column.setUserData(order);
         column.setCellValueFactory(param -> new SimpleObjectProperty<>(extractor.apply(param.getValue().getValue())));
         column.setMaxWidth(widthRatio * Double.MAX_VALUE);
         return column;
     }
 
-    private TreeTableColumn<Node, ProgressAndLabel> createLabeledProgressBarColumn(String name, double widthRatio, Function<Node, ProgressAndLabel> extractor) {
+    private TreeTableColumn<Node, ProgressAndLabel> createLabeledProgressBarColumn(String name, double widthRatio, ChildrenOrder order, Function<Node, ProgressAndLabel> extractor) {
         var column = new TreeTableColumn<Node, ProgressAndLabel>(name);
+        column.setUserData(order);
         column.setCellValueFactory(param -> {
             var node = param.getValue().getValue();
             return new SimpleObjectProperty<>(extractor.apply(node));
@@ -199,6 +660,23 @@ public class JsonViewer extends Application {
     }
 
     private Optional<File> getInitialFile() {
-        return getParameters().getRaw().stream().map(File::new).filter(File::exists).findFirst();
+        return getParameters().getUnnamed().stream().filter(it -> !it.startsWith("--")).map(File::new).filter(File::exists).findFirst();
+    }
+
+    //--jfr records a flight recording to json-viewer.jfr, --jfr=${path} to the given file
+    private Optional<Path> getRecordingDestination() {
+        var parameters = getParameters();
+        if (parameters.getNamed().containsKey("jfr")) {
+            return Optional.of(Path.of(parameters.getNamed().get("jfr")));
+        } else if (parameters.getUnnamed().contains("--jfr")) {
+            return Optional.of(Path.of("json-viewer.jfr"));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    //--memory-budget=${megabytes} limits memory used by parsed nodes before unused ones are evicted
+    private Optional<Long> getMemoryBudget() {
+        return Optional.ofNullable(getParameters().getNamed().get("memory-budget")).map(megabytes -> Long.parseLong(megabytes) * 1024 * 1024);
     }
 }
@@ -2,13 +2,43 @@ package com.github.idegtiarenko.json.ui;
 
 import com.github.idegtiarenko.json.Json;
 import com.github.idegtiarenko.json.Node;
+import com.github.idegtiarenko.json.ParseError;
+import com.github.idegtiarenko.json.PositionMap;
 
 import java.io.File;
-import java.util.function.IntConsumer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
 
-public record JsonViewerState(File file, Node node) {
+//errors are collected while parsing malformed or truncated files, node contains everything that could be parsed around them
+public record JsonViewerState(File file, Node node, List<ParseError> errors) {
 
-    public static JsonViewerState from(File file, IntConsumer onProgress) {
-        return new JsonViewerState(file, Json.parse(file, onProgress));
+    public static JsonViewerState from(File file, LongConsumer onProgress) {
+        var errors = new ArrayList<ParseError>();
+        var node = Json.parse(file, onProgress, errors);
+        return new JsonViewerState(file, node, locate(file, errors));
+    }
+
+    //errors are listed with char offsets as editors count characters rather than bytes
+    private static List<ParseError> locate(File file, List<ParseError> errors) {
+        if (errors.isEmpty()) {
+            return List.of();
+        }
+        var positions = PositionMap.until(file, errors.stream().mapToLong(ParseError::offset).max().getAsLong());
+        return errors.stream().map(error -> error.withCharOffset(positions.toCharOffset(error.offset()))).toList();
+    }
+
+    //errors after the end of the node are reported for its last element that is not completely written yet,
+    //such nodes could be appended while others need to be parsed again
+    public boolean isAppendable() {
+        return errors.stream().allMatch(error -> error.offset() > node.to());
+    }
+
+    public JsonViewerState append(Json.Appended appended) {
+        if (appended.values().isEmpty()) {
+            return this;
+        }
+        var remaining = errors.stream().filter(error -> error.offset() <= node.to()).toList();
+        return new JsonViewerState(file, node.append(appended.to(), appended.values()), remaining);
     }
 }
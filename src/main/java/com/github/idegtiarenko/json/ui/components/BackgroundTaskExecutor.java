@@ -1,12 +1,12 @@
 package com.github.idegtiarenko.json.ui.components;
 
-import javafx.application.Platform;
+import com.github.idegtiarenko.json.jfr.BackgroundTaskEvent;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.IntConsumer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
 
 public class BackgroundTaskExecutor {
 
@@ -28,31 +28,44 @@ public class BackgroundTaskExecutor {
     }
 
     public <T> Future<?> submit(Task<T> task) {
+        var submitted = System.currentTimeMillis();
         return executor.submit(() -> {
+            var event = new BackgroundTaskEvent();
+            event.begin();
+            event.queued = System.currentTimeMillis() - submitted;
             try {
                 var total = task.getTotalSize();
+                event.task = task.getName();
+                event.totalSize = total;
                 if (total == 0) {
-                    Platform.runLater(() -> task.onSuccess(null));
+                    FxThread.runLater(() -> task.onSuccess(null));
+                    event.succeeded = true;
                     return;
                 }
-                Platform.runLater(this::showProgressBar);
+                FxThread.runLater(this::showProgressBar);
                 var result = task.execute(createProgressTracker(task.getName(), total));
-                Platform.runLater(() -> task.onSuccess(result));
+                FxThread.runLater(() -> task.onSuccess(result));
+                event.succeeded = true;
             } catch (Exception e) {
-                Platform.runLater(() -> task.onFailure(e));
+                FxThread.runLater(() -> task.onFailure(e));
+            } catch (OutOfMemoryError e) {
+                //memory of the failed task is released once it is unwound, so the viewer could report it and continue
+                var failure = new IllegalStateException("Not enough memory for " + task.getName(), e);
+                FxThread.runLater(() -> task.onFailure(failure));
             } finally {
-                Platform.runLater(this::hideProgressBar);
+                FxThread.runLater(this::hideProgressBar);
+                event.commit();
             }
         });
     }
 
-    private IntConsumer createProgressTracker(String name, int total) {
+    private LongConsumer createProgressTracker(String name, long total) {
         var interval = Math.max(1, total / 100);
-        var last = new AtomicInteger();
+        var last = new AtomicLong();
         return current -> {
             if (current - last.get() >= interval) {
                 last.set(current);
-                Platform.runLater(() -> labeledProgressBar.update(new ProgressAndLabel(current, total, name)));
+                FxThread.runLater(() -> labeledProgressBar.update(new ProgressAndLabel(current, total, name)));
             }
         };
     }
@@ -69,9 +82,9 @@ public class BackgroundTaskExecutor {
     public interface Task<T> {
         String getName();
 
-        int getTotalSize();
+        long getTotalSize();
 
-        T execute(IntConsumer onProgress);
+        T execute(LongConsumer onProgress);
 
         void onSuccess(T result);
 
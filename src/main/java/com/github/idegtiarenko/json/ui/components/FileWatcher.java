@@ -0,0 +1,113 @@
+package com.github.idegtiarenko.json.ui.components;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+public class FileWatcher {
+
+    private static final long POLL_INTERVAL_MS = 1000;
+
+    private final Consumer<Change> onChange;
+    private File file;
+    private Thread thread;
+
+    public FileWatcher(Consumer<Change> onChange) {
+        this.onChange = onChange;
+    }
+
+    public synchronized void watch(File file) {
+        if (Objects.equals(this.file, file)) {
+            return;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+        this.file = file;
+        if (file != null) {
+            thread = new Thread(() -> run(file), "file-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    public void stop() {
+        watch(null);
+    }
+
+    private void run(File file) {
+        var last = Attributes.of(file);
+        try (var service = createWatchService(file)) {
+            while (!Thread.currentThread().isInterrupted()) {
+                await(service);
+                var current = Attributes.of(file);
+                if (current != null && !current.equals(last)) {
+                    var change = current.isReplacementOf(last) ? Change.REPLACED : Change.APPENDED;
+                    last = current;
+                    FxThread.runLater(() -> onChange.accept(change));
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            //stopped
+        } catch (IOException e) {
+            //watch service could not be closed
+        }
+    }
+
+    //watch service notifies about changes early while polling covers file systems that do not report them
+    private static WatchService createWatchService(File file) {
+        try {
+            var service = FileSystems.getDefault().newWatchService();
+            file.getAbsoluteFile().getParentFile().toPath().register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            return service;
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static void await(WatchService service) throws InterruptedException {
+        if (service != null) {
+            var key = service.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            if (key != null) {
+                key.pollEvents();
+                key.reset();
+            }
+        } else {
+            Thread.sleep(POLL_INTERVAL_MS);
+        }
+    }
+
+    private record Attributes(Object key, long size, FileTime modified) {
+
+        private static Attributes of(File file) {
+            try {
+                var attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+                return new Attributes(attributes.fileKey(), attributes.size(), attributes.lastModifiedTime());
+            } catch (IOException e) {
+                //file might be temporarily missing during rotation
+                return null;
+            }
+        }
+
+        private boolean isReplacementOf(Attributes previous) {
+            return previous == null || !Objects.equals(key, previous.key) || size < previous.size;
+        }
+    }
+
+    public enum Change {
+        APPENDED, REPLACED
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.idegtiarenko.json.ui.components;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FxThread {
+
+    private static final AtomicInteger pending = new AtomicInteger();
+
+    //same as Platform.runLater, but keeps track of the amount of runnables that are not executed yet
+    public static void runLater(Runnable runnable) {
+        pending.incrementAndGet();
+        Platform.runLater(() -> {
+            pending.decrementAndGet();
+            runnable.run();
+        });
+    }
+
+    public static int getPendingCount() {
+        return pending.get();
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.idegtiarenko.json.ui.components;
 
+import com.github.idegtiarenko.json.jfr.CellUpdateEvent;
 import javafx.scene.control.TreeTableCell;
 
 import static com.github.idegtiarenko.json.ui.components.NodeUtils.useAllWidth;
@@ -15,6 +16,8 @@ public class LabeledProgressBarTreeTableCell<S> extends TreeTableCell<S, Progres
 
     @Override
     protected void updateItem(ProgressAndLabel value, boolean empty) {
+        var event = new CellUpdateEvent();
+        event.begin();
         super.updateItem(value, empty);
 
         if (value == null || empty) {
@@ -23,5 +26,8 @@ public class LabeledProgressBarTreeTableCell<S> extends TreeTableCell<S, Progres
             labeledProgressBar.update(value);
             setGraphic(labeledProgressBar);
         }
+        event.cell = value != null ? value.label() : null;
+        event.empty = empty;
+        event.commit();
     }
 }
@@ -22,4 +22,9 @@ public class NodeUtils {
         VBox.setVgrow(node, Priority.ALWAYS);
         return node;
     }
+
+    public static void setShown(Node node, boolean shown) {
+        node.setVisible(shown);
+        node.setManaged(shown);
+    }
 }
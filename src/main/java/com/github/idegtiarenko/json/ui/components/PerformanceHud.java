@@ -0,0 +1,63 @@
+package com.github.idegtiarenko.json.ui.components;
+
+import com.github.idegtiarenko.json.MemoryGovernor;
+import javafx.animation.AnimationTimer;
+import javafx.scene.text.Text;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.idegtiarenko.json.FileSystem.sizeToString;
+
+public class PerformanceHud extends Text {
+
+    private static final long UPDATE_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AnimationTimer timer;
+    private long lastPulse = 0;
+    private long lastUpdate = 0;
+    private long maxPulseInterval = 0;
+
+    public PerformanceHud() {
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onPulse(now);
+            }
+        };
+        setEnabled(false);
+    }
+
+    public void setEnabled(boolean enabled) {
+        setVisible(enabled);
+        setManaged(enabled);
+        if (enabled) {
+            lastPulse = 0;
+            timer.start();
+        } else {
+            timer.stop();
+        }
+    }
+
+    //time between pulses grows when the ui thread is busy, the worst one within update interval is displayed
+    private void onPulse(long now) {
+        if (lastPulse != 0) {
+            maxPulseInterval = Math.max(maxPulseInterval, now - lastPulse);
+        }
+        lastPulse = now;
+        if (now - lastUpdate >= UPDATE_INTERVAL_NS) {
+            lastUpdate = now;
+            var runtime = Runtime.getRuntime();
+            setText(String.format(
+                    "pulse: %d ms | pending runLater: %d | heap: %s / %s | evicted: %d (%s) | reparsed: %d",
+                    TimeUnit.NANOSECONDS.toMillis(maxPulseInterval),
+                    FxThread.getPendingCount(),
+                    sizeToString(runtime.totalMemory() - runtime.freeMemory()),
+                    sizeToString(runtime.maxMemory()),
+                    MemoryGovernor.getEvictions(),
+                    sizeToString(MemoryGovernor.getEvictedSize()),
+                    MemoryGovernor.getMaterializations()
+            ));
+            maxPulseInterval = 0;
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.github.idegtiarenko.json.ui.components;
 
 import java.util.Comparator;
 
-public record ProgressAndLabel(int current, int total, String label) implements Comparable<ProgressAndLabel> {
+public record ProgressAndLabel(long current, long total, String label) implements Comparable<ProgressAndLabel> {
 
     public double ratio() {
         return (double) current / total;
@@ -10,6 +10,6 @@ public record ProgressAndLabel(int current, int total, String label) implements
 
     @Override
     public int compareTo(ProgressAndLabel other) {
-        return Comparator.<ProgressAndLabel>comparingInt(it -> it.current).compare(this, other);
+        return Comparator.<ProgressAndLabel>comparingLong(it -> it.current).compare(this, other);
     }
 }
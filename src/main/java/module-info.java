@@ -1,6 +1,8 @@
 module com.github.idegtiarenko.json {
     requires javafx.controls;
     requires com.fasterxml.jackson.core;
+    requires jdk.jfr;
+    requires java.management;
 
     exports com.github.idegtiarenko.json.ui;
     exports com.github.idegtiarenko.json.ui.components;
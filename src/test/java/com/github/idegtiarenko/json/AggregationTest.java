@@ -0,0 +1,76 @@
+package com.github.idegtiarenko.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AggregationTest {
+
+    @Test
+    void shouldAggregateValuesOfAllElements() {
+        var json = """
+                {"records": [
+                  {"price": 10, "currency": "EUR"},
+                  {"price": 20, "currency": "USD"},
+                  {"price": null, "currency": "EUR"},
+                  {"currency": "EUR"},
+                  {"price": 30}
+                ]}
+                """;
+
+        var price = Aggregation.of(Json.parse(json), List.of("records", Aggregation.ANY, "price"), p -> {});
+
+        assertThat(price.count()).isEqualTo(4L);
+        assertThat(price.missing()).isEqualTo(1L);
+        assertThat(price.nulls()).isEqualTo(1L);
+        assertThat(price.numbers()).isEqualTo(3L);
+        assertThat(price.min()).isEqualTo(10.0);
+        assertThat(price.max()).isEqualTo(30.0);
+        assertThat(price.average()).isEqualTo(20.0);
+
+        var currency = Aggregation.of(Json.parse(json), List.of("records", Aggregation.ANY, "currency"), p -> {});
+
+        assertThat(currency.top(1)).containsExactly(Map.entry("EUR", 3L));
+    }
+
+    @Test
+    void shouldApproximateQuantiles() {
+        var random = new Random(0);
+        var digest = new TDigest(100);
+        var other = new TDigest(100);
+        for (int i = 0; i < 100_000; i++) {
+            (i % 2 == 0 ? digest : other).add(random.nextDouble());
+        }
+        digest.merge(other);
+
+        assertThat(digest.count()).isEqualTo(100_000L);
+        assertThat(digest.quantile(0.5)).isCloseTo(0.5, within(0.01));
+        assertThat(digest.quantile(0.99)).isCloseTo(0.99, within(0.002));
+    }
+
+    @Test
+    void shouldFindMostFrequentValues() {
+        var sketch = new SpaceSaving(10);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add(i % 3 == 0 ? "frequent" : Integer.toString(i));
+        }
+
+        assertThat(sketch.top(1).get(0).getKey()).isEqualTo("frequent");
+    }
+
+    @Test
+    void shouldReplaceLeastFrequentValue() {
+        var sketch = new SpaceSaving(2);
+        for (var value : List.of("a", "a", "a", "b", "c", "d")) {
+            sketch.add(value);
+        }
+
+        //c replaces b inheriting its count, then d replaces c
+        assertThat(sketch.top(2)).containsExactly(Map.entry("a", 3L), Map.entry("d", 3L));
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.idegtiarenko.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChildrenOrderTest {
+
+    private final List<Node> children = List.of(
+            Node.value("b", 0, 10, "10"),
+            Node.array("c", 10, 12, List.of()),
+            Node.value("a", 12, 42, "\"long string\""),
+            Node.value("d", 42, 52, "\"string\"")
+    );
+
+    @Test
+    void shouldSortBySize() {
+        assertThat(ChildrenOrder.SIZE.sort(children)).containsExactly(1, 0, 3, 2);
+    }
+
+    @Test
+    void shouldSortBySizeBeyondIntRange() {
+        var large = List.of(
+                Node.value("a", 0, 3L << 31, "\"a\""),
+                Node.value("b", 0, 1L << 31, "\"b\""),
+                Node.value("c", 0, 10, "\"c\""),
+                Node.value("d", 0, 1L << 31, "\"d\"")
+        );
+
+        assertThat(ChildrenOrder.SIZE.sort(large)).containsExactly(2, 1, 3, 0);
+    }
+
+    @Test
+    void shouldSortByName() {
+        assertThat(ChildrenOrder.NAME.sort(children)).containsExactly(2, 0, 1, 3);
+    }
+
+    @Test
+    void shouldKeepNaturalOrderOfEqualKeys() {
+        assertThat(ChildrenOrder.CHILDREN_COUNT.sort(children)).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void shouldReverse() {
+        assertThat(ChildrenOrder.reverse(new int[]{1, 0, 3, 2})).containsExactly(2, 3, 0, 1);
+    }
+
+    @Test
+    void shouldFilter() {
+        assertThat(ChildrenOrder.filter(children, null, node -> node.size() >= 10)).containsExactly(0, 2, 3);
+        assertThat(ChildrenOrder.filter(children, new int[]{1, 0, 3, 2}, node -> node.size() >= 10)).containsExactly(0, 3, 2);
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.idegtiarenko.json;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExportTest {
+
+    private static final String JSON = """
+            {
+              "string-field": "string",
+              "array-field": [0, 1, 2],
+              "object-field": {"key": "value"}
+            }
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldCopyRawString() throws IOException {
+        var source = write(JSON);
+        var root = Json.parse(source.toFile(), p -> {});
+
+        assertThat(Export.toRawString(source.toFile(), root.child(0))).isEqualTo("\"string\"");
+        assertThat(Export.toRawString(source.toFile(), root.child(2))).isEqualTo("{\"key\": \"value\"}");
+    }
+
+    @Test
+    void shouldNotCopyLargeRawString() throws IOException {
+        var source = write(JSON);
+        var node = Node.array("", 0, Export.MAX_RAW_STRING_SIZE + 1, List.of());
+
+        assertThatThrownBy(() -> Export.toRawString(source.toFile(), node)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldExportRaw() throws IOException {
+        var source = write(JSON);
+        var target = dir.resolve("target.json");
+        var root = Json.parse(source.toFile(), p -> {});
+
+        Export.export(source.toFile(), List.of(root.child(1)), target.toFile(), Export.Format.RAW, p -> {});
+
+        assertThat(target).hasContent("[0, 1, 2]");
+    }
+
+    @Test
+    void shouldExportMinified() throws IOException {
+        var source = write(JSON);
+        var target = dir.resolve("target.json");
+        var root = Json.parse(source.toFile(), p -> {});
+
+        Export.export(source.toFile(), List.of(root), target.toFile(), Export.Format.MINIFIED, p -> {});
+
+        assertThat(target).hasContent("{\"string-field\":\"string\",\"array-field\":[0,1,2],\"object-field\":{\"key\":\"value\"}}");
+    }
+
+    @Test
+    void shouldExportMultipleNodesOnePerLine() throws IOException {
+        var source = write(JSON);
+        var target = dir.resolve("target.json");
+        var root = Json.parse(source.toFile(), p -> {});
+
+        Export.export(source.toFile(), List.of(root.child(0), root.child(1), root.child(2)), target.toFile(), Export.Format.MINIFIED, p -> {});
+
+        assertThat(Files.readAllLines(target)).containsExactly("\"string\"", "[0,1,2]", "{\"key\":\"value\"}");
+    }
+
+    @Test
+    void shouldNotExportToSourceFile() throws IOException {
+        var source = write(JSON);
+        var root = Json.parse(source.toFile(), p -> {});
+
+        assertThatThrownBy(() -> Export.export(source.toFile(), List.of(root.child(1)), source.toFile(), Export.Format.RAW, p -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(source).hasContent(JSON);
+    }
+
+    private Path write(String json) throws IOException {
+        return Files.writeString(dir.resolve("source.json"), json);
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.idegtiarenko.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonPathTest {
+
+    @Test
+    void shouldParseDisplayedPath() {
+        assertThat(JsonPath.parse(" > key > 0 > nested key")).isEqualTo(List.of("key", "0", "nested key"));
+        assertThat(JsonPath.parse("key > 0")).isEqualTo(List.of("key", "0"));
+        assertThat(JsonPath.parse("")).isEqualTo(List.of());
+    }
+
+    @Test
+    void shouldParseJsonPath() {
+        assertThat(JsonPath.parse("$")).isEqualTo(List.of());
+        assertThat(JsonPath.parse("$.key[0].nested")).isEqualTo(List.of("key", "0", "nested"));
+        assertThat(JsonPath.parse("$['a.b'][\"c\\\"d\"][ 1 ]")).isEqualTo(List.of("a.b", "c\"d", "1"));
+    }
+
+    @Test
+    void shouldRejectUnsupportedJsonPath() {
+        assertThatThrownBy(() -> JsonPath.parse("$..key")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonPath.parse("$.items[*]")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonPath.parse("$['key")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldFindChildren() {
+        var root = Json.parse("""
+                {"array": [0, 1], "key": "first", "key": "second"}
+                """);
+
+        assertThat(JsonPath.indexOf(root, "key")).isEqualTo(1);
+        assertThat(JsonPath.indexOf(root, "missing")).isEqualTo(-1);
+        assertThat(JsonPath.indexOf(root.child(0), "1")).isEqualTo(1);
+        assertThat(JsonPath.indexOf(root.child(0), "2")).isEqualTo(-1);
+        assertThat(JsonPath.indexOf(root.child(0), "key")).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldFindFieldsOfWideObjectsWithKeyIndex() {
+        var fields = new ArrayList<Node>();
+        for (int i = 0; i < 10_000; i++) {
+            fields.add(Node.value("id-" + i, i, i + 1, Integer.toString(i)));
+        }
+        fields.add(Node.value("id-42", 0, 0, "duplicate"));
+        var root = Node.object("", 0, 10_000, KeyedChildren.of(fields));
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(JsonPath.indexOf(root, "id-" + i)).isEqualTo(i);
+        }
+        assertThat(JsonPath.indexOf(root, "id-10000")).isEqualTo(-1);
+        assertThat(JsonPath.indexOf(root, "id-42", false)).isEqualTo(42);
+    }
+
+    @Test
+    void shouldIndexParsedWideObjects() {
+        var json = new StringBuilder("{\"narrow\": {\"a\": 1}, \"wide\": {");
+        for (int i = 0; i < KeyIndex.MIN_KEYS; i++) {
+            json.append(i > 0 ? ", " : "").append("\"key-").append(i).append("\": ").append(i);
+        }
+        var root = Json.parse(json.append("}}").toString());
+
+        assertThat(root.child(0).children()).isNotInstanceOf(KeyedChildren.class);
+        assertThat(root.child(1).children()).isInstanceOf(KeyedChildren.class);
+        assertThat(JsonPath.indexOf(root.child(1), "key-1000")).isEqualTo(1000);
+    }
+}
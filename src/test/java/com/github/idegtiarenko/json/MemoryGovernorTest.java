@@ -0,0 +1,112 @@
+package com.github.idegtiarenko.json;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryGovernorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldParseEvictedChildrenAgain() throws IOException {
+        var big = parseBigArray();
+        var expected = List.copyOf(big.children());
+        var evictable = (EvictableChildren) big.children();
+
+        assertThat(evictable.evict()).isTrue();
+        assertThat(evictable.isMaterialized()).isFalse();
+        assertThat(big.childrenCount()).isEqualTo(expected.size());
+        assertThat(evictable.isMaterialized()).isFalse();
+
+        assertThat(big.children()).isEqualTo(expected);
+        assertThat(evictable.isMaterialized()).isTrue();
+    }
+
+    @Test
+    void shouldNotEvictPinnedChildren() throws IOException {
+        var evictable = (EvictableChildren) parseBigArray().children();
+
+        evictable.pin();
+        assertThat(evictable.evict()).isFalse();
+
+        evictable.unpin();
+        assertThat(evictable.evict()).isTrue();
+    }
+
+    @Test
+    void shouldNotTrackSmallContainers() {
+        var root = Json.parse("{\"small\": [{\"key\": \"value\"}]}");
+
+        assertThat(root.child(0).children()).isNotInstanceOf(EvictableChildren.class);
+    }
+
+    @Test
+    void shouldEvictSegmentsOfRootStream() throws IOException {
+        var lines = IntStream.range(0, 5_000)
+                .mapToObj(i -> "{\"id\": " + i + ", \"name\": \"item-" + i + "\"}")
+                .collect(Collectors.joining("\n", "", "\n"));
+        var root = Json.parse(Files.writeString(dir.resolve("big.ndjson"), lines).toFile(), p -> {});
+        var children = (AppendableChildren) root.children();
+        var expected = List.copyOf(children);
+
+        //complete segments are evictable while the last one is still being extended
+        var first = (EvictableChildren) children.getSegment(0);
+        var second = (EvictableChildren) children.getSegment(1024);
+        assertThat(children.getSegment(expected.size() - 1)).isNotInstanceOf(EvictableChildren.class);
+        assertThat(first.evict()).isTrue();
+        assertThat(second.evict()).isTrue();
+
+        assertThat(root.childrenCount()).isEqualTo(5_000);
+        assertThat(children).isEqualTo(expected);
+        assertThat(first.isMaterialized()).isTrue();
+    }
+
+    @Test
+    void shouldEvictSegmentsOfRootArray() throws IOException {
+        var items = IntStream.range(0, 3_000)
+                .mapToObj(i -> i % 2 == 0 ? "\"item-" + i + "\"" : Integer.toString(i))
+                .collect(Collectors.joining(", ", "[", "]"));
+        var root = Json.parse(Files.writeString(dir.resolve("big.json"), items).toFile(), p -> {});
+        var children = (AppendableChildren) root.children();
+        var expected = List.copyOf(children);
+
+        var segment = (EvictableChildren) children.getSegment(2000);
+        assertThat(segment.evict()).isTrue();
+
+        assertThat(children).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldNotEvictSegmentsWithErrors() throws IOException {
+        var lines = IntStream.range(0, 3_000)
+                .mapToObj(i -> i == 10 ? "{\"id\": }" : "{\"id\": " + i + "}")
+                .collect(Collectors.joining("\n", "", "\n"));
+        var file = Files.writeString(dir.resolve("broken.ndjson"), lines).toFile();
+        var root = Json.parse(file, p -> {}, new ArrayList<>());
+        var children = (AppendableChildren) root.children();
+
+        assertThat(children.getSegment(0)).isNotInstanceOf(EvictableChildren.class);
+        assertThat(children.getSegment(2000)).isInstanceOf(EvictableChildren.class);
+    }
+
+    private Node parseBigArray() throws IOException {
+        var items = IntStream.range(0, 10_000)
+                .mapToObj(i -> "{\"id\": " + i + ", \"name\": \"item-" + i + "\"}")
+                .collect(Collectors.joining(",\n", "[\n", "\n]"));
+        var file = Files.writeString(dir.resolve("big.json"), "{\"items\": " + items + ", \"count\": 10000}");
+        var big = Json.parse(file.toFile(), p -> {}).child(0);
+        assertThat(big.children()).isInstanceOf(EvictableChildren.class);
+        return big;
+    }
+}
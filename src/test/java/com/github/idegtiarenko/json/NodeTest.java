@@ -76,4 +76,51 @@ class NodeTest {
                 ))
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldParseByteOffsetsOfMultibyteStrings() {
+        var json = """
+                {"ru": "привет", "emoji": "👍🏻", "ja": "日本"}
+                """;
+        assertThat(Json.parse(json)).isEqualTo(
+                Node.object("", 0, 59, List.of(
+                        Node.value("ru", 8, 20, "\"привет\""),
+                        Node.value("emoji", 33, 41, "\"👍🏻\""),
+                        Node.value("ja", 51, 57, "\"日本\"")
+                ))
+        );
+    }
+
+    @Test
+    void shouldParseRawLengthOfEscapedStrings() {
+        var json = """
+                ["a\\"b", "\\u00e9"]
+                """;
+        assertThat(Json.parse(json)).isEqualTo(
+                Node.array("", 0, 18, List.of(
+                        Node.value("0", 2, 6, "\"a\"b\""),
+                        Node.value("1", 10, 16, "\"é\"")
+                ))
+        );
+    }
+
+    @Test
+    void shouldParseJsonStream() {
+        var json = """
+                {"key": "value"}
+                [0]
+                1
+                """;
+        assertThat(Json.parse(json)).isEqualTo(
+                Node.stream("", 0, 23, List.of(
+                        Node.object("0", 0, 16, List.of(
+                                Node.value("key", 9, 14, "\"value\"")
+                        )),
+                        Node.array("1", 17, 20, List.of(
+                                Node.value("0", 18, 19, "0")
+                        )),
+                        Node.value("2", 21, 22, "1")
+                ))
+        );
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.idegtiarenko.json;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParseAppendedTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldAppendJsonStreamLines() throws IOException {
+        var file = Files.writeString(dir.resolve("log.json"), """
+                {"id": 1}
+                {"id": 2}
+                """);
+        var root = Json.parse(file.toFile(), p -> {});
+
+        Files.writeString(file, """
+                {"id": 3}
+                {"id":""", APPEND);
+        var appended = Json.parseAppended(file.toFile(), root, p -> {});
+
+        assertThat(appended).isEqualTo(new Json.Appended(29, List.of(
+                Node.object("2", 20, 29, List.of(Node.value("id", 27, 28, "3")))
+        )));
+
+        root = root.append(appended.to(), appended.values());
+        Files.writeString(file, " 4}\n", APPEND);
+        appended = Json.parseAppended(file.toFile(), root, p -> {});
+
+        assertThat(appended.values()).hasSize(1);
+        assertThat(root.append(appended.to(), appended.values()).children().stream().map(Node::name).toList())
+                .containsExactly("0", "1", "2", "3");
+    }
+
+    @Test
+    void shouldAppendArrayItemsWhenClosingBracketIsRewritten() throws IOException {
+        var file = Files.writeString(dir.resolve("log.json"), "[1, 2]");
+        var root = Json.parse(file.toFile(), p -> {});
+
+        Files.writeString(file, "[1, 2, 3]");
+        var appended = Json.parseAppended(file.toFile(), root, p -> {});
+
+        assertThat(root.append(appended.to(), appended.values())).isEqualTo(Node.array("", 0, 9, List.of(
+                Node.value("0", 1, 2, "1"),
+                Node.value("1", 4, 5, "2"),
+                Node.value("2", 7, 8, "3")
+        )));
+    }
+
+    @Test
+    void shouldKeepPreviousRootUnchanged() {
+        var root = Json.parse("[1, 2]");
+
+        var appended = root.append(9, List.of(Node.value("2", 7, 8, "3")));
+        var other = root.append(12, List.of(Node.value("2", 7, 8, "4"), Node.value("3", 10, 11, "5")));
+
+        assertThat(root.children().stream().map(Node::value).toList()).containsExactly("1", "2");
+        assertThat(appended.children().stream().map(Node::value).toList()).containsExactly("1", "2", "3");
+        assertThat(other.children().stream().map(Node::value).toList()).containsExactly("1", "2", "4", "5");
+        assertThat(((AppendableChildren) appended.children()).isExtensionOf(root.children())).isTrue();
+        assertThat(((AppendableChildren) other.children()).isExtensionOf(appended.children())).isFalse();
+    }
+
+    @Test
+    void shouldAppendToEmptyFile() throws IOException {
+        var file = Files.writeString(dir.resolve("log.json"), "");
+        var root = Json.parse(file.toFile(), p -> {});
+
+        assertThat(root).isEqualTo(Node.stream("", 0, 0, List.of()));
+
+        Files.writeString(file, "{\"id\": 1}\n", APPEND);
+        var appended = Json.parseAppended(file.toFile(), root, p -> {});
+
+        assertThat(appended).isEqualTo(new Json.Appended(9, List.of(
+                Node.object("0", 0, 9, List.of(Node.value("id", 7, 8, "1")))
+        )));
+    }
+
+    @Test
+    void shouldAppendToStreamEndingWithIncompleteLine() throws IOException {
+        var file = Files.writeString(dir.resolve("log.json"), "{\"id\": 1}\n{\"id\":");
+        var errors = new ArrayList<ParseError>();
+        var root = Json.parse(file.toFile(), p -> {}, errors);
+
+        assertThat(root).isEqualTo(Node.stream("", 0, 9, List.of(
+                Node.object("0", 0, 9, List.of(Node.value("id", 7, 8, "1")))
+        )));
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).offset()).isGreaterThan(root.to());
+
+        Files.writeString(file, " 2}\n", APPEND);
+        var appended = Json.parseAppended(file.toFile(), root, p -> {});
+
+        assertThat(appended).isEqualTo(new Json.Appended(19, List.of(
+                Node.object("1", 10, 19, List.of(Node.value("id", 17, 18, "2")))
+        )));
+    }
+
+    @Test
+    void shouldAppendToArrayEndingWithIncompleteItem() throws IOException {
+        var file = Files.writeString(dir.resolve("log.json"), "[1, 2, {\"id\":");
+        var errors = new ArrayList<ParseError>();
+        var root = Json.parse(file.toFile(), p -> {}, errors);
+
+        assertThat(root).isEqualTo(Node.array("", 0, 6, List.of(
+                Node.value("0", 1, 2, "1"),
+                Node.value("1", 4, 5, "2")
+        )));
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).offset()).isGreaterThan(root.to());
+
+        Files.writeString(file, " 3}]", APPEND);
+        var appended = Json.parseAppended(file.toFile(), root, p -> {});
+
+        assertThat(root.append(appended.to(), appended.values())).isEqualTo(Node.array("", 0, 17, List.of(
+                Node.value("0", 1, 2, "1"),
+                Node.value("1", 4, 5, "2"),
+                Node.object("2", 7, 16, List.of(Node.value("id", 14, 15, "3")))
+        )));
+    }
+
+    @Test
+    void shouldNotChangeRootWhenNothingIsAppended() throws IOException {
+        var file = Files.writeString(dir.resolve("data.json"), "{\"key\": \"value\"}");
+        var root = Json.parse(file.toFile(), p -> {});
+
+        Files.writeString(file, "\n", APPEND);
+
+        assertThat(Json.parseAppended(file.toFile(), root, p -> {})).isEqualTo(new Json.Appended(16, List.of()));
+    }
+
+    @Test
+    void shouldRequireReloadWhenFileIsTruncated() throws IOException {
+        var file = Files.writeString(dir.resolve("data.json"), "[1, 2, 3]");
+        var root = Json.parse(file.toFile(), p -> {});
+
+        Files.writeString(file, "[1]");
+
+        assertThat(Json.parseAppended(file.toFile(), root, p -> {})).isNull();
+    }
+}
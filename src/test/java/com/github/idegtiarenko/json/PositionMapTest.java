@@ -0,0 +1,61 @@
+package com.github.idegtiarenko.json;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PositionMapTest {
+
+    private static final String CONTENT = """
+            {"en": "hello", "ru": "привет", "zh": "你好", "emoji": "👍🏻🎉", "ar": "مرحبا"}
+            """.repeat(10);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldConvertOffsetsOfEveryCharacter() throws IOException {
+        var file = Files.writeString(dir.resolve("test.json"), CONTENT).toFile();
+        var bytes = CONTENT.getBytes(UTF_8);
+
+        for (var interval : new int[]{1, 7, 64, 1024}) {
+            var map = PositionMap.of(file, interval);
+            for (int i = 0; i <= CONTENT.length(); i = CONTENT.offsetByCodePoints(i, 1)) {
+                long byteOffset = CONTENT.substring(0, i).getBytes(UTF_8).length;
+                assertThat(map.toByteOffset(i)).isEqualTo(byteOffset);
+                assertThat(map.toCharOffset(byteOffset)).isEqualTo((long) i);
+                if (i == CONTENT.length()) {
+                    break;
+                }
+            }
+            assertThat(map.toCharOffset(bytes.length)).isEqualTo((long) CONTENT.length());
+        }
+    }
+
+    @Test
+    void shouldConvertOffsetsAfterLastCheckpoint() throws IOException {
+        var file = Files.writeString(dir.resolve("test.json"), CONTENT).toFile();
+        var map = PositionMap.until(file, 10);
+
+        var i = CONTENT.lastIndexOf("👍");
+        assertThat(map.toCharOffset(CONTENT.substring(0, i).getBytes(UTF_8).length)).isEqualTo((long) i);
+    }
+
+    @Test
+    void shouldConvertOffsetsOfParsedNodes() throws IOException {
+        var file = Files.writeString(dir.resolve("test.json"), CONTENT).toFile();
+        var map = PositionMap.of(file, 16);
+        var root = Json.parse(file, p -> {});
+
+        var emoji = root.child(3).child(3);
+        var from = (int) map.toCharOffset(emoji.from());
+        var to = (int) map.toCharOffset(emoji.to());
+        assertThat(CONTENT.substring(from, to)).isEqualTo("👍🏻🎉");
+    }
+}
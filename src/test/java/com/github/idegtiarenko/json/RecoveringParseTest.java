@@ -0,0 +1,212 @@
+package com.github.idegtiarenko.json;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecoveringParseTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldCloseContainersOfTruncatedFile() throws IOException {
+        var file = write("{\"a\": [1, 2, {\"b\": \"c\"");
+        var errors = new ArrayList<ParseError>();
+
+        assertThat(Json.parse(file.toFile(), p -> {}, errors)).isEqualTo(
+                Node.object("", 0, 22, List.of(
+                        Node.array("a", 6, 22, List.of(
+                                Node.value("0", 7, 8, "1"),
+                                Node.value("1", 10, 11, "2"),
+                                Node.object("2", 13, 22, List.of(
+                                        Node.value("b", 20, 21, "\"c\"")
+                                ))
+                        ))
+                ))
+        );
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).offset()).isEqualTo(22L);
+    }
+
+    @Test
+    void shouldSkipMalformedLineOfStream() throws IOException {
+        var file = write("""
+                {"a": 1}
+                {"a": 2,,}
+                {"a": 3}
+                """);
+        var errors = new ArrayList<ParseError>();
+
+        assertThat(Json.parse(file.toFile(), p -> {}, errors)).isEqualTo(
+                Node.stream("", 0, 28, List.of(
+                        Node.object("0", 0, 8, List.of(
+                                Node.value("a", 6, 7, "1")
+                        )),
+                        Node.object("1", 9, 18, List.of(
+                                Node.value("a", 15, 16, "2")
+                        )),
+                        Node.object("2", 20, 28, List.of(
+                                Node.value("a", 26, 27, "3")
+                        ))
+                ))
+        );
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).offset()).isEqualTo(18L);
+    }
+
+    @Test
+    void shouldSkipMalformedElementOfArray() throws IOException {
+        var file = write("""
+                {"items": [
+                  {"id": 1},
+                  {"id": 2 "x": 1,
+                    "y": 2},
+                  {"id": 3}
+                ], "count": 3}
+                """);
+        var errors = new ArrayList<ParseError>();
+
+        var root = Json.parse(file.toFile(), p -> {}, errors);
+
+        assertThat(errors).hasSize(1);
+        var items = root.child(0);
+        assertThat(items.children().stream().map(Node::name).toList()).isEqualTo(List.of("0", "1", "2"));
+        assertThat(items.child(1).children()).isEqualTo(List.of(Node.value("id", 34, 35, "2")));
+        assertThat(items.child(2).child(0).value()).isEqualTo("3");
+        assertThat(root.child(1)).isEqualTo(Node.value("count", 81, 82, "3"));
+    }
+
+    @Test
+    void shouldContinueFromSiblingOfMalformedElementWithNestedLines() throws IOException {
+        var file = write("""
+                {"items": [
+                  {"id": 1},
+                  {"id": 2 "x": 1,
+                    "n":
+                {"k": 1},
+                    "y": 2},
+                  {"id": 3}
+                ], "count": 3}
+                """);
+        var errors = new ArrayList<ParseError>();
+
+        var root = Json.parse(file.toFile(), p -> {}, errors);
+
+        assertThat(errors).hasSize(1);
+        var items = root.child(0);
+        assertThat(items.children().stream().map(node -> node.child(0).value()).toList()).isEqualTo(List.of("1", "2", "3"));
+        assertThat(items.child(2)).isEqualTo(Node.object("2", 78, 87, List.of(Node.value("id", 85, 86, "3"))));
+        assertThat(root.child(1).value()).isEqualTo("3");
+    }
+
+    @Test
+    void shouldContinueFromSiblingOfContainerWithMalformedNestedArray() throws IOException {
+        var file = write("""
+                {"items": [
+                 {"id": 1, "tags": [1, 2 x, 3]},
+                 {"id": 2},
+                 {"id": 3}
+                ]}
+                """);
+        var errors = new ArrayList<ParseError>();
+
+        var root = Json.parse(file.toFile(), p -> {}, errors);
+
+        assertThat(errors).hasSize(1);
+        var items = root.child(0);
+        assertThat(items.children().stream().map(node -> node.child(0).value()).toList()).isEqualTo(List.of("1", "2", "3"));
+        assertThat(items.child(0).child(1).children().stream().map(Node::value).toList()).isEqualTo(List.of("1", "2"));
+    }
+
+    @Test
+    void shouldContinueFromSiblingOfRootArrayElementWithMalformedNestedArray() throws IOException {
+        var file = write("""
+                [
+                 {"id": 1, "tags": [1, 2 x, 3]},
+                 {"id": 2},
+                 {"id": 3}
+                ]
+                """);
+        var errors = new ArrayList<ParseError>();
+
+        var root = Json.parse(file.toFile(), p -> {}, errors);
+
+        assertThat(errors).hasSize(1);
+        assertThat(root.children().stream().map(node -> node.child(0).value()).toList()).isEqualTo(List.of("1", "2", "3"));
+        assertThat(root.child(0).child(1).children().stream().map(Node::value).toList()).isEqualTo(List.of("1", "2"));
+        assertThat(root.child(1)).isEqualTo(Node.object("1", 36, 45, List.of(Node.value("id", 43, 44, "2"))));
+    }
+
+    @Test
+    void shouldContinueFromLineFollowingMalformedLineOfStream() throws IOException {
+        var file = write("""
+                {"a": 1}
+                bad
+                {"a": 2}
+                {"a": 3}
+                """);
+        var errors = new ArrayList<ParseError>();
+
+        var root = Json.parse(file.toFile(), p -> {}, errors);
+
+        assertThat(root.children().stream().map(node -> node.child(0).value()).toList()).isEqualTo(List.of("1", "2", "3"));
+        assertThat(root.child(1)).isEqualTo(Node.object("1", 13, 21, List.of(Node.value("a", 19, 20, "2"))));
+        assertThat(errors).hasSize(1);
+    }
+
+    @Test
+    void shouldContinueFromLineFollowingMalformedLineOfArray() throws IOException {
+        var file = write("""
+                [
+                1,
+                bad
+                2,
+                3
+                ]""");
+        var errors = new ArrayList<ParseError>();
+
+        var root = Json.parse(file.toFile(), p -> {}, errors);
+
+        assertThat(root.children()).isEqualTo(List.of(
+                Node.value("0", 2, 3, "1"),
+                Node.value("1", 9, 10, "2"),
+                Node.value("2", 12, 13, "3")
+        ));
+        assertThat(errors).hasSize(1);
+    }
+
+    @Test
+    void shouldContinueFromLineFollowingMalformedFirstLine() throws IOException {
+        var file = write("""
+                xx
+                {"a": 1}
+                """);
+        var errors = new ArrayList<ParseError>();
+
+        assertThat(Json.parse(file.toFile(), p -> {}, errors)).isEqualTo(
+                Node.object("", 3, 11, List.of(Node.value("a", 9, 10, "1")))
+        );
+        assertThat(errors).hasSize(1);
+    }
+
+    @Test
+    void shouldThrowWhenErrorsAreNotCollected() throws IOException {
+        var file = write("[1, 2");
+
+        assertThatThrownBy(() -> Json.parse(file.toFile(), p -> {})).isInstanceOf(UncheckedIOException.class);
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(dir.resolve("test.json"), content);
+    }
+}